@@ -0,0 +1,154 @@
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop HTTP load generator for the clubbing server.
+ * Signs in once as the demo student, then N concurrent users request the given pages back
+ * to back, sharing that session. Prints throughput and latency percentiles per page;
+ * requests made during the warm-up are not counted.
+ *
+ * Usage: java bench/LoadBenchmark.java [baseUrl] [users] [warmupSeconds] [durationSeconds] [paths...]
+ *   e.g. java bench/LoadBenchmark.java http://localhost:3700 1000 10 30 /events /clubs
+ */
+public class LoadBenchmark {
+
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:3700";
+        int users = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int warmupSeconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int durationSeconds = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+        List<String> paths = args.length > 4 ? Arrays.asList(args).subList(4, args.length) : List.of("/events", "/clubs");
+
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .cookieHandler(new CookieManager())
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofSeconds(30))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+        signIn(client, baseUrl, "student@clubbing.com", "student123");
+
+        Map<String, List<long[]>> samplesByPath = new ConcurrentHashMap<>();
+        Map<String, AtomicLong> errorsByPath = new ConcurrentHashMap<>();
+        for (String path : paths) {
+            samplesByPath.put(path, new ArrayList<>());
+            errorsByPath.put(path, new AtomicLong());
+        }
+
+        long start = System.nanoTime();
+        long measureFrom = start + Duration.ofSeconds(warmupSeconds).toNanos();
+        long stopAt = measureFrom + Duration.ofSeconds(durationSeconds).toNanos();
+        CountDownLatch done = new CountDownLatch(users);
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int u = 0; u < users; u++) {
+                int offset = u;
+                workers.submit(() -> {
+                    Map<String, long[]> local = new java.util.HashMap<>();
+                    Map<String, Integer> localCounts = new java.util.HashMap<>();
+                    try {
+                        for (int i = offset; System.nanoTime() < stopAt; i++) {
+                            String path = paths.get(i % paths.size());
+                            long sent = System.nanoTime();
+                            boolean ok;
+                            try {
+                                HttpResponse<Void> response = client.send(
+                                    HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(120)).GET().build(),
+                                    HttpResponse.BodyHandlers.discarding());
+                                ok = response.statusCode() == 200;
+                            } catch (Exception e) {
+                                ok = false;
+                            }
+                            long received = System.nanoTime();
+                            if (sent < measureFrom || received > stopAt) {
+                                continue;
+                            }
+                            if (!ok) {
+                                errorsByPath.get(path).incrementAndGet();
+                                continue;
+                            }
+                            long[] latencies = local.computeIfAbsent(path, p -> new long[1024]);
+                            int count = localCounts.getOrDefault(path, 0);
+                            if (count == latencies.length) {
+                                latencies = Arrays.copyOf(latencies, count * 2);
+                                local.put(path, latencies);
+                            }
+                            latencies[count] = received - sent;
+                            localCounts.put(path, count + 1);
+                        }
+                    } finally {
+                        local.forEach((path, latencies) -> {
+                            List<long[]> samples = samplesByPath.get(path);
+                            synchronized (samples) {
+                                samples.add(Arrays.copyOf(latencies, localCounts.get(path)));
+                            }
+                        });
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        }
+
+        System.out.printf("%d users, %ds measured after %ds warm-up%n", users, durationSeconds, warmupSeconds);
+        System.out.printf("%-10s %10s %10s %10s %10s %10s %8s%n", "path", "requests", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (String path : paths) {
+            long[] all = samplesByPath.get(path).stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            System.out.printf("%-10s %10d %10.1f %10.1f %10.1f %10.1f %8d%n", path, all.length,
+                all.length / (double) durationSeconds,
+                percentile(all, 0.50), percentile(all, 0.99),
+                all.length == 0 ? 0.0 : all[all.length - 1] / 1e6,
+                errorsByPath.get(path).get());
+        }
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static void signIn(HttpClient client, String baseUrl, String email, String password) throws Exception {
+        HttpResponse<String> loginPage = client.send(
+            HttpRequest.newBuilder(URI.create(baseUrl + "/login")).GET().build(), HttpResponse.BodyHandlers.ofString());
+        Matcher csrf = CSRF.matcher(loginPage.body());
+        if (!csrf.find()) {
+            throw new IllegalStateException("No CSRF token on the login page");
+        }
+
+        String form = "username=" + URLEncoder.encode(email, StandardCharsets.UTF_8)
+            + "&password=" + URLEncoder.encode(password, StandardCharsets.UTF_8)
+            + "&_csrf=" + URLEncoder.encode(csrf.group(1), StandardCharsets.UTF_8);
+        HttpResponse<Void> login = client.send(
+            HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build(),
+            HttpResponse.BodyHandlers.discarding());
+        String location = login.headers().firstValue("Location").orElse("");
+        if (location.contains("error")) {
+            throw new IllegalStateException("Sign-in failed for " + email);
+        }
+    }
+}
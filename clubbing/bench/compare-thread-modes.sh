@@ -0,0 +1,49 @@
+#!/usr/bin/env bash
+# Runs LoadBenchmark against the server in platform-thread and virtual-thread mode.
+# Usage: bench/compare-thread-modes.sh [users] [warmupSeconds] [durationSeconds]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+USERS=${1:-1000}
+WARMUP=${2:-10}
+DURATION=${3:-30}
+PORT=3790
+
+./mvnw -q -B package -DskipTests
+JAR=$(ls target/clubbing-*.jar | grep -v original | head -1)
+
+run_mode() {
+    local mode=$1
+    local profile_args=(--spring.profiles.active=dev)
+    if [ "$mode" = "virtual" ]; then
+        profile_args=(--spring.profiles.active=dev,virtual)
+    fi
+
+    # In-memory database and quiet logging, so the run measures request handling
+    java -jar "$JAR" "${profile_args[@]}" \
+        --server.port=$PORT \
+        --spring.datasource.url=jdbc:h2:mem:clubbing-bench \
+        --spring.jpa.show-sql=false \
+        --logging.level.root=WARN \
+        --logging.level.org.hibernate.SQL=WARN \
+        --logging.level.com.clubbing=INFO \
+        --spring.thymeleaf.cache=true > "target/bench-$mode.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null || true" RETURN
+
+    # Tomcat accepts connections before the seed data is loaded; wait for the startup line
+    for _ in $(seq 1 180); do
+        if grep -q "Started ClubbingApplication" "target/bench-$mode.log"; then
+            break
+        fi
+        sleep 1
+    done
+
+    echo "== $mode threads"
+    java bench/LoadBenchmark.java "http://localhost:$PORT" "$USERS" "$WARMUP" "$DURATION" /events /clubs
+    kill $pid
+    wait $pid 2>/dev/null || true
+}
+
+run_mode platform
+run_mode virtual
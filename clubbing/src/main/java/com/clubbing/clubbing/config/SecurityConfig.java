@@ -2,11 +2,13 @@ package com.clubbing.clubbing.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
@@ -17,6 +19,16 @@ import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 @EnableMethodSecurity(prePostEnabled = true)
 public class SecurityConfig {
 
+    // JSON endpoints called by door scanners, kiosks and scripts rather than from a page
+    private static final String[] DEVICE_ENDPOINTS = {
+        "/club-admin/events/*/check-in",
+        "/club-admin/events/*/check-in/sync",
+        "/club-admin/events/*/tickets/verify",
+        "/membership/requests/bulk",
+        "/admin/users/import",
+        "/admin/users/import/*"
+    };
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -27,7 +39,27 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    /**
+     * Device endpoints authenticate every request with HTTP Basic and never use the session
+     * cookie, so there is no ambient credential for CSRF to protect
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain deviceFilterChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher(DEVICE_ENDPOINTS)
+            .authorizeHttpRequests(authz -> authz
+                .requestMatchers("/admin/**").hasRole("SYSTEM_ADMIN")
+                .anyRequest().hasAnyRole("SYSTEM_ADMIN", "CLUB_ADMIN"))
+            .httpBasic(basic -> {})
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .csrf(csrf -> csrf.disable());
+
+        return http.build();
+    }
+
     @Bean
+    @Order(2)
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
             .authorizeHttpRequests(authz -> authz
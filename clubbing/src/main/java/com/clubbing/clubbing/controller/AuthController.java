@@ -2,7 +2,7 @@ package com.clubbing.clubbing.controller;
 
 import com.clubbing.clubbing.dto.UserRegistrationDto;
 import com.clubbing.clubbing.model.User;
-import com.clubbing.clubbing.service.ClubService;
+import com.clubbing.clubbing.service.DashboardSnapshotService;
 import com.clubbing.clubbing.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -24,7 +24,7 @@ import java.util.Optional;
 public class AuthController {
 
     private final UserService userService;
-    private final ClubService clubService;
+    private final DashboardSnapshotService dashboardSnapshotService;
 
     @GetMapping("/")
     public String home() {
@@ -105,12 +105,13 @@ public class AuthController {
         
         // Add role-specific data
         if (user.isSystemAdmin()) {
-            model.addAttribute("userStats", userService.getUserStats());
-            model.addAttribute("clubStats", clubService.getClubStats());
+            DashboardSnapshotService.SystemDashboard snapshot = dashboardSnapshotService.getSystemDashboard();
+            model.addAttribute("userStats", snapshot.userStats());
+            model.addAttribute("clubStats", snapshot.clubStats());
         } else if (user.isClubAdmin()) {
-            model.addAttribute("myClubs", clubService.getClubsByAdmin(user));
+            model.addAttribute("myClubs", dashboardSnapshotService.getClubAdminDashboard(user));
         } else if (user.isStudent()) {
-            model.addAttribute("activeClubs", clubService.getActiveClubs());
+            model.addAttribute("activeClubs", dashboardSnapshotService.getStudentDashboard());
         }
 
         return "dashboard/dashboard";
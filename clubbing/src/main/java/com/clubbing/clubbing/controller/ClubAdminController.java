@@ -4,6 +4,8 @@ import com.clubbing.clubbing.dto.ClubDto;
 import com.clubbing.clubbing.dto.ClubUpdateDto;
 import com.clubbing.clubbing.dto.MembershipDto;
 import com.clubbing.clubbing.model.User;
+import com.clubbing.clubbing.service.AttendanceAnalyticsService;
+import com.clubbing.clubbing.service.ClubGrowthService;
 import com.clubbing.clubbing.service.ClubService;
 import com.clubbing.clubbing.service.MembershipService;
 import com.clubbing.clubbing.service.UserService;
@@ -32,9 +34,14 @@ import java.util.Optional;
 @PreAuthorize("hasRole('CLUB_ADMIN')")
 public class ClubAdminController {
     
+    // The dashboard previews the oldest few requests; the per-club requests page lists the rest
+    private static final int DASHBOARD_PENDING_REQUESTS = 5;
+    
     private final ClubService clubService;
     private final UserService userService;
     private final MembershipService membershipService;
+    private final AttendanceAnalyticsService attendanceAnalyticsService;
+    private final ClubGrowthService clubGrowthService;
     
     /**
      * Club Admin Dashboard - Show clubs managed by current admin
@@ -64,9 +71,9 @@ public class ClubAdminController {
         model.addAttribute("totalMembers", totalMembers);
         
         // Get pending membership requests for all managed clubs
-        List<MembershipDto> pendingRequests = membershipService.getPendingRequestsForAdmin(user);
+        List<MembershipDto> pendingRequests = membershipService.getPendingRequestsForAdmin(user, DASHBOARD_PENDING_REQUESTS);
         model.addAttribute("pendingRequests", pendingRequests);
-        model.addAttribute("totalPendingRequests", pendingRequests.size());
+        model.addAttribute("totalPendingRequests", membershipService.countPendingRequestsForAdmin(user));
         
         return "club-admin/dashboard";
     }
@@ -102,10 +109,14 @@ public class ClubAdminController {
         // Get membership statistics
         MembershipService.MembershipStats membershipStats = membershipService.getMembershipStats(id);
         
+        // A year of growth in weekly points for the chart
+        ClubGrowthService.ClubGrowth growth = clubGrowthService.getClubGrowth(id, 365, 7, user.getEmail());
+        
         model.addAttribute("club", club);
         model.addAttribute("currentUser", user);
         model.addAttribute("canManageClub", true);
         model.addAttribute("membershipStats", membershipStats);
+        model.addAttribute("growth", growth);
         
         return "club-admin/view";
     }
@@ -273,4 +284,27 @@ public class ClubAdminController {
         // Redirect to the membership controller for request management
         return "redirect:/membership/club/" + id + "/requests";
     }
+    
+    /**
+     * Attendance and no-show rates of a club with a daily trend (JSON)
+     */
+    @GetMapping("/clubs/{id}/attendance")
+    @ResponseBody
+    public AttendanceAnalyticsService.ClubAttendanceReport clubAttendance(@PathVariable Long id,
+                                                                          @RequestParam(defaultValue = "30") int days,
+                                                                          Authentication authentication) {
+        return attendanceAnalyticsService.getClubAttendance(id, days, authentication.getName());
+    }
+    
+    /**
+     * Member level, join requests, joins and churn of a club over time (JSON)
+     */
+    @GetMapping("/clubs/{id}/growth")
+    @ResponseBody
+    public ClubGrowthService.ClubGrowth clubGrowth(@PathVariable Long id,
+                                                   @RequestParam(defaultValue = "365") int days,
+                                                   @RequestParam(defaultValue = "1") int bucketDays,
+                                                   Authentication authentication) {
+        return clubGrowthService.getClubGrowth(id, days, bucketDays, authentication.getName());
+    }
 } 
\ No newline at end of file
@@ -1,51 +1,74 @@
 package com.clubbing.clubbing.controller;
 
+import com.clubbing.clubbing.dto.BatchCheckInDto;
+import com.clubbing.clubbing.dto.BatchCheckInResultDto;
+import com.clubbing.clubbing.dto.CursorPage;
 import com.clubbing.clubbing.dto.EventDto;
+import com.clubbing.clubbing.dto.KioskCheckInSyncDto;
+import com.clubbing.clubbing.dto.TicketVerificationDto;
+import com.clubbing.clubbing.model.EventStatus;
+import com.clubbing.clubbing.service.AttendanceAnalyticsService;
+import com.clubbing.clubbing.service.AttendanceService;
+import com.clubbing.clubbing.service.EventExportService;
 import com.clubbing.clubbing.service.EventService;
+import com.clubbing.clubbing.service.ScheduleConflictService;
+import com.clubbing.clubbing.service.TicketService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 @Controller
 @RequestMapping("/club-admin/events")
 @RequiredArgsConstructor
 @Slf4j
-@PreAuthorize("hasRole('CLUB_ADMIN')")
+@PreAuthorize("hasRole('CLUB_ADMIN') or hasRole('SYSTEM_ADMIN')")
 public class ClubAdminEventController {
     
     private final EventService eventService;
+    private final AttendanceService attendanceService;
+    private final TicketService ticketService;
+    private final EventExportService eventExportService;
+    private final AttendanceAnalyticsService attendanceAnalyticsService;
+    private final ScheduleConflictService scheduleConflictService;
     
     /**
      * Show club admin events dashboard
      */
     @GetMapping
-    public String showEventsDashboard(Model model, Authentication authentication) {
+    public String showEventsDashboard(@RequestParam(value = "cursor", required = false) String cursor,
+                                      @RequestParam(value = "size", required = false) Integer size,
+                                      Model model, Authentication authentication) {
         log.info("Showing events dashboard for club admin: {}", authentication.getName());
         
-        List<EventDto> allEvents = eventService.getEventsByClubAdmin(authentication.getName());
-        List<EventDto> upcomingEvents = eventService.getUpcomingEventsByClubAdmin(authentication.getName());
+        CursorPage<EventDto> page = eventService.getEventsPageByClubAdmin(authentication.getName(), null, cursor, size);
+        List<EventDto> upcomingEvents = eventService.getUpcomingEventsByClubAdmin(authentication.getName(), 5);
         
-        model.addAttribute("allEvents", allEvents);
+        model.addAttribute("allEvents", page.getItems());
+        model.addAttribute("page", page);
         model.addAttribute("upcomingEvents", upcomingEvents);
-        model.addAttribute("totalEvents", allEvents.size());
-        model.addAttribute("upcomingCount", upcomingEvents.size());
         
-        // Calculate statistics
-        long draftCount = allEvents.stream().filter(e -> e.getStatus().name().equals("DRAFT")).count();
-        long publishedCount = allEvents.stream().filter(e -> e.getStatus().name().equals("PUBLISHED")).count();
-        long completedCount = allEvents.stream().filter(e -> e.getStatus().name().equals("COMPLETED")).count();
-        
-        model.addAttribute("draftCount", draftCount);
-        model.addAttribute("publishedCount", publishedCount);
-        model.addAttribute("completedCount", completedCount);
+        // Statistics come from count queries, not from the current page
+        Map<EventStatus, Long> counts = eventService.getEventCountsByClubAdmin(authentication.getName());
+        model.addAttribute("totalEvents", counts.values().stream().mapToLong(Long::longValue).sum());
+        model.addAttribute("upcomingCount", eventService.countUpcomingEventsByClubAdmin(authentication.getName()));
+        model.addAttribute("draftCount", counts.get(EventStatus.DRAFT));
+        model.addAttribute("publishedCount", counts.get(EventStatus.PUBLISHED));
+        model.addAttribute("completedCount", counts.get(EventStatus.COMPLETED));
         
         return "club-admin/events/dashboard";
     }
@@ -55,23 +78,126 @@ public class ClubAdminEventController {
      */
     @GetMapping("/filter")
     public String showEventsByStatus(@RequestParam(value = "status", required = false) String status,
+                                   @RequestParam(value = "cursor", required = false) String cursor,
+                                   @RequestParam(value = "size", required = false) Integer size,
                                    Model model, 
                                    Authentication authentication) {
         
         log.info("Showing events filtered by status: {} for admin: {}", status, authentication.getName());
         
-        List<EventDto> events = eventService.getEventsByClubAdmin(authentication.getName());
-        
+        EventStatus eventStatus = null;
         if (status != null && !status.isEmpty()) {
-            events = events.stream()
-                .filter(e -> e.getStatus().name().equalsIgnoreCase(status))
-                .toList();
+            eventStatus = Arrays.stream(EventStatus.values())
+                .filter(s -> s.name().equalsIgnoreCase(status))
+                .findFirst()
+                .orElse(null);
             model.addAttribute("filterStatus", status);
         }
         
-        model.addAttribute("events", events);
-        model.addAttribute("allEvents", eventService.getEventsByClubAdmin(authentication.getName()));
+        CursorPage<EventDto> page = eventService.getEventsPageByClubAdmin(authentication.getName(), eventStatus, cursor, size);
+        
+        model.addAttribute("events", page.getItems());
+        model.addAttribute("page", page);
+        model.addAttribute("eventCounts", eventService.getEventCountsByClubAdmin(authentication.getName()));
         
         return "club-admin/events/list";
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Batch check-in for door scanners (JSON); safe to retry
+     */
+    @PostMapping("/{id}/check-in")
+    @ResponseBody
+    public BatchCheckInResultDto batchCheckIn(@PathVariable Long id,
+                                              @Valid @RequestBody BatchCheckInDto request,
+                                              Authentication authentication) {
+        
+        log.info("Batch check-in for event ID: {} by user: {}", id, authentication.getName());
+        
+        return attendanceService.batchCheckIn(id, request, authentication.getName());
+    }
+    
+    /**
+     * Verify a ticket token for an event without touching the database (JSON)
+     */
+    @PostMapping("/{id}/tickets/verify")
+    @ResponseBody
+    public TicketVerificationDto verifyTicket(@PathVariable Long id, @RequestParam String token) {
+        return ticketService.verifyTicket(token)
+            .map(claims -> TicketVerificationDto.builder()
+                .valid(id.equals(claims.eventId()))
+                .registrationId(claims.registrationId())
+                .eventId(claims.eventId())
+                .userId(claims.userId())
+                .message(id.equals(claims.eventId()) ? "Valid ticket" : "Ticket is for a different event")
+                .build())
+            .orElseGet(() -> TicketVerificationDto.builder()
+                .valid(false)
+                .message("Invalid ticket")
+                .build());
+    }
+    
+    /**
+     * Upload check-ins collected offline by a door kiosk (JSON); safe to retry
+     */
+    @PostMapping("/{id}/check-in/sync")
+    @ResponseBody
+    public BatchCheckInResultDto syncKioskCheckIns(@PathVariable Long id,
+                                                   @Valid @RequestBody KioskCheckInSyncDto request,
+                                                   Authentication authentication) {
+        
+        log.info("Kiosk check-in sync for event ID: {} by user: {}", id, authentication.getName());
+        
+        return attendanceService.syncKioskCheckIns(id, request, authentication.getName());
+    }
+    
+    /**
+     * Attendance and no-show rates of an event (JSON)
+     */
+    @GetMapping("/{id}/attendance/summary")
+    @ResponseBody
+    public AttendanceAnalyticsService.AttendanceSummary attendanceSummary(@PathVariable Long id,
+                                                                          Authentication authentication) {
+        return attendanceAnalyticsService.getEventAttendance(id, authentication.getName());
+    }
+    
+    /**
+     * Registered students whose other events overlap this one (JSON)
+     */
+    @GetMapping("/{id}/conflicts")
+    @ResponseBody
+    public List<ScheduleConflictService.AttendeeConflict> attendeeConflicts(@PathVariable Long id,
+                                                                            Authentication authentication) {
+        return scheduleConflictService.getAttendeeConflicts(id, authentication.getName());
+    }
+    
+    /**
+     * Download an event's registrations as CSV, streamed from the database
+     */
+    @GetMapping("/{id}/registrations.csv")
+    public ResponseEntity<StreamingResponseBody> exportRegistrations(@PathVariable Long id, Authentication authentication) {
+        String title = eventExportService.authorizeExport(id, authentication.getName());
+        log.info("Exporting registrations of event ID: {} for user: {}", id, authentication.getName());
+        
+        return csvResponse(title + " registrations.csv", out -> eventExportService.writeRegistrationsCsv(id, out));
+    }
+    
+    /**
+     * Download an event's attendance records as CSV, streamed from the database
+     */
+    @GetMapping("/{id}/attendance.csv")
+    public ResponseEntity<StreamingResponseBody> exportAttendance(@PathVariable Long id, Authentication authentication) {
+        String title = eventExportService.authorizeExport(id, authentication.getName());
+        log.info("Exporting attendance of event ID: {} for user: {}", id, authentication.getName());
+        
+        return csvResponse(title + " attendance.csv", out -> eventExportService.writeAttendanceCsv(id, out));
+    }
+    
+    private ResponseEntity<StreamingResponseBody> csvResponse(String filename, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+            .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(filename, StandardCharsets.UTF_8).build().toString())
+            .body(body);
+    }
+}
@@ -3,6 +3,7 @@ package com.clubbing.clubbing.controller;
 import com.clubbing.clubbing.dto.ClubCreationDto;
 import com.clubbing.clubbing.dto.ClubDto;
 import com.clubbing.clubbing.dto.ClubUpdateDto;
+import com.clubbing.clubbing.dto.CursorPage;
 import com.clubbing.clubbing.model.User;
 import com.clubbing.clubbing.model.UserRole;
 import com.clubbing.clubbing.repository.UserRepository;
@@ -39,13 +40,16 @@ public class ClubController {
      * Display all clubs (System Admin view)
      */
     @GetMapping
-    public String listClubs(Model model, Authentication authentication) {
+    public String listClubs(@RequestParam(required = false) String cursor,
+                            @RequestParam(required = false) Integer size,
+                            Model model, Authentication authentication) {
         log.info("Displaying clubs list for admin");
         
-        List<ClubDto> clubs = clubService.getAllClubs();
+        CursorPage<ClubDto> page = clubService.getClubsPage(cursor, size);
         ClubService.ClubStats stats = clubService.getClubStats();
         
-        model.addAttribute("clubs", clubs);
+        model.addAttribute("clubs", page.getItems());
+        model.addAttribute("page", page);
         model.addAttribute("stats", stats);
         model.addAttribute("categories", clubService.getAllCategories());
         
@@ -1,10 +1,15 @@
 package com.clubbing.clubbing.controller;
 
+import com.clubbing.clubbing.dto.CursorPage;
 import com.clubbing.clubbing.dto.EventCreationDto;
 import com.clubbing.clubbing.dto.EventDto;
+import com.clubbing.clubbing.dto.EventRegistrationDto;
 import com.clubbing.clubbing.dto.EventUpdateDto;
 import com.clubbing.clubbing.model.Club;
+import com.clubbing.clubbing.model.RegistrationStatus;
+import com.clubbing.clubbing.service.EventRegistrationService;
 import com.clubbing.clubbing.service.EventService;
+import com.clubbing.clubbing.service.ScheduleConflictService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,12 +30,17 @@ import java.util.List;
 public class EventController {
     
     private final EventService eventService;
+    private final EventRegistrationService eventRegistrationService;
+    private final ScheduleConflictService scheduleConflictService;
     
     /**
      * Show all published events (public view)
      */
     @GetMapping
-    public String showAllEvents(@RequestParam(value = "search", required = false) String search, Model model) {
+    public String showAllEvents(@RequestParam(value = "search", required = false) String search,
+                                @RequestParam(value = "cursor", required = false) String cursor,
+                                @RequestParam(value = "size", required = false) Integer size,
+                                Model model) {
         log.info("Showing all events with search: {}", search);
         
         List<EventDto> events;
@@ -38,11 +48,13 @@ public class EventController {
             events = eventService.searchEvents(search);
             model.addAttribute("searchTerm", search);
         } else {
-            events = eventService.getAllPublishedEvents();
+            CursorPage<EventDto> page = eventService.getPublishedEventsPage(cursor, size);
+            events = page.getItems();
+            model.addAttribute("page", page);
         }
         
         model.addAttribute("events", events);
-        model.addAttribute("upcomingEvents", eventService.getUpcomingEvents());
+        model.addAttribute("upcomingEvents", eventService.getUpcomingEvents(3));
         
         return "events/list";
     }
@@ -51,12 +63,14 @@ public class EventController {
      * Show event details
      */
     @GetMapping("/{id}")
-    public String showEventDetails(@PathVariable Long id, Model model) {
+    public String showEventDetails(@PathVariable Long id, Model model, Authentication authentication) {
         log.info("Showing event details for ID: {}", id);
         
         try {
             EventDto event = eventService.getEventById(id);
             model.addAttribute("event", event);
+            model.addAttribute("registration", 
+                eventRegistrationService.getUserRegistration(id, authentication.getName()).orElse(null));
             return "events/view";
         } catch (RuntimeException e) {
             log.error("Error showing event details: {}", e.getMessage());
@@ -174,11 +188,9 @@ public class EventController {
             return "events/edit";
         }
         
+        EventDto updatedEvent;
         try {
-            EventDto updatedEvent = eventService.updateEvent(eventUpdateDto, authentication.getName());
-            redirectAttributes.addFlashAttribute("success", 
-                "Event '" + updatedEvent.getTitle() + "' updated successfully!");
-            return "redirect:/events/" + updatedEvent.getId();
+            updatedEvent = eventService.updateEvent(eventUpdateDto, authentication.getName());
         } catch (Exception e) {
             log.error("Error updating event: {}", e.getMessage());
             EventDto event = eventService.getEventById(id);
@@ -186,6 +198,22 @@ public class EventController {
             model.addAttribute("error", e.getMessage());
             return "events/edit";
         }
+        redirectAttributes.addFlashAttribute("success", 
+            "Event '" + updatedEvent.getTitle() + "' updated successfully!");
+        
+        // After a reschedule, tell the admin how many attendees now have overlapping events;
+        // the edit is already committed, so a failed lookup only skips the warning
+        try {
+            List<ScheduleConflictService.AttendeeConflict> conflicts =
+                scheduleConflictService.getAttendeeConflicts(id, authentication.getName());
+            if (!conflicts.isEmpty()) {
+                redirectAttributes.addFlashAttribute("warning", conflicts.size()
+                    + " registered student(s) have another event overlapping this one.");
+            }
+        } catch (Exception e) {
+            log.warn("Could not check attendee conflicts for event {}: {}", id, e.getMessage());
+        }
+        return "redirect:/events/" + updatedEvent.getId();
     }
     
     /**
@@ -257,4 +285,55 @@ public class EventController {
         
         return "redirect:/events/" + id;
     }
+    
+    /**
+     * Register for event (Student only)
+     */
+    @PostMapping("/{id}/register")
+    @PreAuthorize("hasRole('STUDENT')")
+    public String registerForEvent(@PathVariable Long id,
+                                  Authentication authentication,
+                                  RedirectAttributes redirectAttributes) {
+        
+        log.info("Registering user: {} for event ID: {}", authentication.getName(), id);
+        
+        try {
+            EventRegistrationDto registration = eventRegistrationService.registerForEvent(id, authentication.getName());
+            redirectAttributes.addFlashAttribute("success", registration.getStatus() == RegistrationStatus.WAITLISTED
+                ? "The event is full - you have been added to the waitlist."
+                : "You are registered for '" + registration.getEventTitle() + "'!");
+            if (registration.getConflictingEventTitles() != null && !registration.getConflictingEventTitles().isEmpty()) {
+                redirectAttributes.addFlashAttribute("warning", "This event overlaps with: "
+                    + String.join(", ", registration.getConflictingEventTitles()));
+            }
+        } catch (Exception e) {
+            log.error("Error registering for event: {}", e.getMessage());
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+        }
+        
+        return "redirect:/events/" + id;
+    }
+    
+    /**
+     * Cancel own event registration (Student only)
+     */
+    @PostMapping("/{id}/unregister")
+    @PreAuthorize("hasRole('STUDENT')")
+    public String cancelRegistration(@PathVariable Long id,
+                                    @RequestParam(required = false) String reason,
+                                    Authentication authentication,
+                                    RedirectAttributes redirectAttributes) {
+        
+        log.info("Cancelling registration of user: {} for event ID: {}", authentication.getName(), id);
+        
+        try {
+            eventRegistrationService.cancelRegistration(id, authentication.getName(), reason);
+            redirectAttributes.addFlashAttribute("success", "Your registration has been cancelled.");
+        } catch (Exception e) {
+            log.error("Error cancelling registration: {}", e.getMessage());
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+        }
+        
+        return "redirect:/events/" + id;
+    }
 } 
\ No newline at end of file
@@ -1,5 +1,8 @@
 package com.clubbing.clubbing.controller;
 
+import com.clubbing.clubbing.dto.BulkMembershipDecisionDto;
+import com.clubbing.clubbing.dto.BulkMembershipDecisionResultDto;
+import com.clubbing.clubbing.dto.CursorPage;
 import com.clubbing.clubbing.dto.MembershipDto;
 import com.clubbing.clubbing.dto.MembershipRequestDto;
 import com.clubbing.clubbing.model.MemberRole;
@@ -102,7 +105,10 @@ public class MembershipController {
      */
     @GetMapping("/club/{clubId}/requests")
     @PreAuthorize("hasRole('CLUB_ADMIN') or hasRole('SYSTEM_ADMIN')")
-    public String viewClubMembershipRequests(@PathVariable Long clubId, Model model, RedirectAttributes redirectAttributes) {
+    public String viewClubMembershipRequests(@PathVariable Long clubId,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(required = false) Integer size,
+                                             Model model, RedirectAttributes redirectAttributes) {
         
         Optional<User> currentUser = userService.getCurrentUser();
         if (currentUser.isEmpty()) {
@@ -110,10 +116,12 @@ public class MembershipController {
         }
         
         try {
-            List<MembershipDto> pendingRequests = membershipService.getPendingRequestsForClub(clubId, currentUser.get());
+            CursorPage<MembershipDto> page = membershipService.getPendingRequestsPage(clubId, currentUser.get(), cursor, size);
             
             model.addAttribute("clubId", clubId);
-            model.addAttribute("pendingRequests", pendingRequests);
+            model.addAttribute("pendingRequests", page.getItems());
+            model.addAttribute("page", page);
+            model.addAttribute("pendingCount", membershipService.countPendingRequests(clubId));
             model.addAttribute("currentUser", currentUser.get());
             
             return "membership/club-requests";
@@ -130,7 +138,10 @@ public class MembershipController {
      */
     @GetMapping("/club/{clubId}/members")
     @PreAuthorize("hasRole('CLUB_ADMIN') or hasRole('SYSTEM_ADMIN')")
-    public String viewClubMembers(@PathVariable Long clubId, Model model, RedirectAttributes redirectAttributes) {
+    public String viewClubMembers(@PathVariable Long clubId,
+                                  @RequestParam(required = false) String cursor,
+                                  @RequestParam(required = false) Integer size,
+                                  Model model, RedirectAttributes redirectAttributes) {
         
         Optional<User> currentUser = userService.getCurrentUser();
         if (currentUser.isEmpty()) {
@@ -138,12 +149,16 @@ public class MembershipController {
         }
         
         try {
-            List<MembershipDto> members = membershipService.getClubMembers(clubId, currentUser.get());
-            List<MembershipDto> pendingRequests = membershipService.getPendingRequestsForClub(clubId, currentUser.get());
+            CursorPage<MembershipDto> page = membershipService.getClubMembersPage(clubId, currentUser.get(), cursor, size);
+            // Only the oldest page of requests is shown here; the requests view pages through the rest
+            CursorPage<MembershipDto> pendingPage = membershipService.getPendingRequestsPage(clubId, currentUser.get(), null, null);
             
             model.addAttribute("clubId", clubId);
-            model.addAttribute("members", members);
-            model.addAttribute("pendingRequests", pendingRequests);
+            model.addAttribute("members", page.getItems());
+            model.addAttribute("page", page);
+            model.addAttribute("memberCount", membershipService.countClubMembers(clubId));
+            model.addAttribute("pendingRequests", pendingPage.getItems());
+            model.addAttribute("pendingCount", membershipService.countPendingRequests(clubId));
             model.addAttribute("currentUser", currentUser.get());
             model.addAttribute("memberRoles", MemberRole.values());
             
@@ -217,6 +232,20 @@ public class MembershipController {
         }
     }
     
+    /**
+     * Approve or reject many pending requests at once (Club Admin, JSON)
+     */
+    @PostMapping("/requests/bulk")
+    @PreAuthorize("hasRole('CLUB_ADMIN') or hasRole('SYSTEM_ADMIN')")
+    @ResponseBody
+    public BulkMembershipDecisionResultDto decideMembershipRequests(@Valid @RequestBody BulkMembershipDecisionDto request) {
+        
+        User currentUser = userService.getCurrentUser()
+                .orElseThrow(() -> new RuntimeException("Current user not found"));
+        
+        return membershipService.decideMembershipRequests(request, currentUser);
+    }
+    
     /**
      * Update member role (Club Admin)
      */
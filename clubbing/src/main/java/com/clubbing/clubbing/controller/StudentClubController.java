@@ -3,9 +3,12 @@ package com.clubbing.clubbing.controller;
 import com.clubbing.clubbing.dto.ClubDto;
 import com.clubbing.clubbing.dto.MembershipDto;
 import com.clubbing.clubbing.dto.MembershipRequestDto;
+import com.clubbing.clubbing.dto.SuggestionDto;
 import com.clubbing.clubbing.model.User;
+import com.clubbing.clubbing.service.ClubRecommendationService;
 import com.clubbing.clubbing.service.ClubService;
 import com.clubbing.clubbing.service.MembershipService;
+import com.clubbing.clubbing.service.TypeaheadService;
 import com.clubbing.clubbing.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,9 +33,14 @@ import java.util.Optional;
 @PreAuthorize("hasRole('STUDENT') or hasRole('CLUB_ADMIN')")
 public class StudentClubController {
     
+    // Number of "students like you also joined" suggestions on the browse page
+    private static final int RECOMMENDATION_LIMIT = 3;
+    
     private final ClubService clubService;
     private final UserService userService;
     private final MembershipService membershipService;
+    private final TypeaheadService typeaheadService;
+    private final ClubRecommendationService clubRecommendationService;
     
     /**
      * Browse all active clubs (Student and Club Admin view)
@@ -76,6 +84,8 @@ public class StudentClubController {
             if (currentUser.get().isStudent()) {
                 List<MembershipDto> userMemberships = membershipService.getUserMemberships(currentUser.get());
                 model.addAttribute("userMemberships", userMemberships);
+                model.addAttribute("recommendedClubs",
+                        clubRecommendationService.recommendClubs(currentUser.get(), RECOMMENDATION_LIMIT));
             }
         }
         
@@ -154,4 +164,18 @@ public class StudentClubController {
         
         return clubService.getActiveClubs();
     }
+    
+    /**
+     * Typeahead suggestions for club names, categories and event titles (AJAX endpoint)
+     */
+    @GetMapping("/suggest")
+    @ResponseBody
+    public List<SuggestionDto> suggest(@RequestParam(required = false) String q,
+                                       @RequestParam(defaultValue = "8") int limit) {
+        if (q == null || q.trim().isEmpty()) {
+            return List.of();
+        }
+        
+        return typeaheadService.suggest(q, Math.min(Math.max(limit, 1), 20));
+    }
 } 
\ No newline at end of file
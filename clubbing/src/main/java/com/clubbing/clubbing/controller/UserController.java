@@ -1,17 +1,24 @@
 package com.clubbing.clubbing.controller;
 
+import com.clubbing.clubbing.dto.CursorPage;
 import com.clubbing.clubbing.dto.UserDto;
+import com.clubbing.clubbing.dto.UserImportResultDto;
 import com.clubbing.clubbing.model.User;
 import com.clubbing.clubbing.model.UserRole;
+import com.clubbing.clubbing.service.UserImportJobService;
 import com.clubbing.clubbing.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.io.IOException;
+import java.net.URI;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,12 +34,15 @@ import java.util.Optional;
 public class UserController {
     
     private final UserService userService;
+    private final UserImportJobService userImportJobService;
     
     /**
      * List all users (System Admin)
      */
     @GetMapping
-    public String listUsers(Model model) {
+    public String listUsers(@RequestParam(required = false) String cursor,
+                            @RequestParam(required = false) Integer size,
+                            Model model) {
         log.info("System admin accessing user management");
         
         Optional<User> currentUser = userService.getCurrentUser();
@@ -40,29 +50,61 @@ public class UserController {
             return "redirect:/login";
         }
         
-        List<UserDto> users = userService.getAllUsers();
+        CursorPage<UserDto> page = userService.getUsersPage(cursor, size);
         
-        // Calculate statistics
-        long totalUsers = users.size();
-        long activeUsers = users.stream().filter(UserDto::isActive).count();
-        long inactiveUsers = totalUsers - activeUsers;
-        long systemAdmins = users.stream().filter(u -> u.getRole() == UserRole.SYSTEM_ADMIN).count();
-        long clubAdmins = users.stream().filter(u -> u.getRole() == UserRole.CLUB_ADMIN).count();
-        long students = users.stream().filter(u -> u.getRole() == UserRole.STUDENT).count();
+        // Statistics come from one cached aggregate query, not from the current page
+        UserService.UserStats stats = userService.getUserStats();
         
-        model.addAttribute("users", users);
+        model.addAttribute("users", page.getItems());
+        model.addAttribute("page", page);
         model.addAttribute("currentUser", currentUser.get());
-        model.addAttribute("totalUsers", totalUsers);
-        model.addAttribute("activeUsers", activeUsers);
-        model.addAttribute("inactiveUsers", inactiveUsers);
-        model.addAttribute("systemAdmins", systemAdmins);
-        model.addAttribute("clubAdmins", clubAdmins);
-        model.addAttribute("students", students);
+        model.addAttribute("totalUsers", stats.totalUsers());
+        model.addAttribute("activeUsers", stats.activeUsers());
+        model.addAttribute("inactiveUsers", stats.inactiveUsers());
+        model.addAttribute("systemAdmins", stats.systemAdmins());
+        model.addAttribute("clubAdmins", stats.clubAdmins());
+        model.addAttribute("students", stats.students());
         model.addAttribute("userRoles", UserRole.values());
         
         return "admin/users";
     }
     
+    /**
+     * User statistics by status and role (AJAX endpoint)
+     */
+    @GetMapping("/stats")
+    @ResponseBody
+    public UserService.UserStats userStats() {
+        return userService.getUserStats();
+    }
+    
+    /**
+     * Start importing students and club rosters from a CSV upload; poll the returned job for progress
+     */
+    @PostMapping("/import")
+    @ResponseBody
+    public ResponseEntity<UserImportResultDto> importUsers(@RequestParam("file") MultipartFile file) throws IOException {
+        User currentUser = userService.getCurrentUser()
+                .orElseThrow(() -> new RuntimeException("Current user not found"));
+        
+        log.info("System admin {} importing users from {} ({} bytes)",
+                currentUser.getEmail(), file.getOriginalFilename(), file.getSize());
+        
+        UserImportResultDto job = userImportJobService.startImport(file, currentUser);
+        return ResponseEntity.accepted()
+                .location(URI.create("/admin/users/import/" + job.getJobId()))
+                .body(job);
+    }
+    
+    /**
+     * Progress of a CSV import job: counters and row errors as of the last imported chunk
+     */
+    @GetMapping("/import/{jobId}")
+    @ResponseBody
+    public ResponseEntity<UserImportResultDto> importStatus(@PathVariable String jobId) {
+        return ResponseEntity.of(userImportJobService.getJob(jobId));
+    }
+    
     /**
      * View user details (System Admin)
      */
@@ -163,9 +205,12 @@ public class UserController {
                 return "redirect:/admin/users";
             }
             
-            userService.deleteUser(id);
-            
-            redirectAttributes.addFlashAttribute("successMessage", "User deleted successfully!");
+            if (userService.deleteUser(id)) {
+                redirectAttributes.addFlashAttribute("successMessage", "User deleted successfully!");
+            } else {
+                redirectAttributes.addFlashAttribute("successMessage", 
+                    "User deactivated. Their history is large, so the account will be removed in the background.");
+            }
             
         } catch (IllegalArgumentException e) {
             log.error("Error deleting user: {}", e.getMessage());
@@ -0,0 +1,25 @@
+package com.clubbing.clubbing.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchCheckInDto {
+    
+    @Size(max = 1000, message = "At most 1000 user IDs can be checked in per request")
+    @Builder.Default
+    private List<Long> userIds = new ArrayList<>();
+    
+    @Size(max = 1000, message = "At most 1000 student IDs can be checked in per request")
+    @Builder.Default
+    private List<String> studentIds = new ArrayList<>();
+}
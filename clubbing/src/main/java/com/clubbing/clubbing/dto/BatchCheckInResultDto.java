@@ -0,0 +1,24 @@
+package com.clubbing.clubbing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchCheckInResultDto {
+    
+    private Long eventId;
+    private int requested;
+    private int checkedIn;
+    private int alreadyCheckedIn;
+    @Builder.Default
+    private List<String> rejected = new ArrayList<>();
+    private Integer attendanceCount;
+}
@@ -0,0 +1,33 @@
+package com.clubbing.clubbing.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkMembershipDecisionDto {
+    
+    @NotNull(message = "Decision is required")
+    private Decision decision;
+    
+    @Size(max = 1000, message = "At most 1000 membership requests can be processed per request")
+    @Builder.Default
+    private List<Long> membershipIds = new ArrayList<>();
+    
+    @Size(max = 500, message = "Reason must not exceed 500 characters")
+    private String reason;
+    
+    public enum Decision {
+        APPROVE,
+        REJECT
+    }
+}
@@ -0,0 +1,24 @@
+package com.clubbing.clubbing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkMembershipDecisionResultDto {
+    
+    private BulkMembershipDecisionDto.Decision decision;
+    private int requested;
+    private int processed;
+    @Builder.Default
+    private List<Long> skipped = new ArrayList<>();
+    @Builder.Default
+    private List<Long> clubIds = new ArrayList<>();
+}
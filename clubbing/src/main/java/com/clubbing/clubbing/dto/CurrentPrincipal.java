@@ -0,0 +1,33 @@
+package com.clubbing.clubbing.dto;
+
+import com.clubbing.clubbing.model.UserRole;
+
+import java.util.Set;
+
+/**
+ * The signed-in user as resolved once per request: identity, role and the ids of the
+ * clubs they administer. Immutable, so it can be shared across requests while cached.
+ */
+public record CurrentPrincipal(Long id, String email, String name, UserRole role, Set<Long> managedClubIds) {
+    
+    public CurrentPrincipal {
+        managedClubIds = Set.copyOf(managedClubIds);
+    }
+    
+    public boolean isSystemAdmin() {
+        return role == UserRole.SYSTEM_ADMIN;
+    }
+    
+    public boolean isClubAdmin() {
+        return role == UserRole.CLUB_ADMIN;
+    }
+    
+    public boolean isStudent() {
+        return role == UserRole.STUDENT;
+    }
+    
+    public boolean managesClub(Long clubId) {
+        return managedClubIds.contains(clubId);
+    }
+
+}
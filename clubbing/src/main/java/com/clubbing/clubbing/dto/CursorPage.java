@@ -0,0 +1,59 @@
+package com.clubbing.clubbing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One page of a keyset-paginated list.
+ * nextCursor identifies the last row of this page and is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPage<T> {
+    
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+    
+    private List<T> items;
+    private String nextCursor;
+    private int size;
+    private boolean firstPage;
+    
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+    
+    /**
+     * Clamp a requested page size to 1..MAX_SIZE, defaulting to DEFAULT_SIZE
+     */
+    public static int normalizeSize(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+    
+    /**
+     * Build a page from rows fetched with a limit of size + 1; the extra row only signals a next page
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int size, boolean firstPage,
+                                         Function<E, String> cursorOf, Function<E, T> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> pageRows = hasNext ? rows.subList(0, size) : rows;
+        
+        return CursorPage.<T>builder()
+                .items(pageRows.stream().map(mapper).collect(Collectors.toList()))
+                .nextCursor(hasNext ? cursorOf.apply(pageRows.get(pageRows.size() - 1)) : null)
+                .size(size)
+                .firstPage(firstPage)
+                .build();
+    }
+}
@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -27,6 +28,8 @@ public class EventRegistrationDto {
     private LocalDateTime registrationDate;
     private LocalDateTime cancellationDate;
     private String notes;
+    private String ticketCode;
+    private List<String> conflictingEventTitles;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     
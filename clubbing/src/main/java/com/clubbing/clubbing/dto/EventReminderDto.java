@@ -0,0 +1,23 @@
+package com.clubbing.clubbing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventReminderDto {
+    
+    private Long registrationId;
+    private String userName;
+    private String userEmail;
+    private Long eventId;
+    private String eventTitle;
+    private LocalDateTime eventDate;
+    private String eventLocation;
+}
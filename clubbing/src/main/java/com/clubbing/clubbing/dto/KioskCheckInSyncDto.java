@@ -0,0 +1,38 @@
+package com.clubbing.clubbing.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class KioskCheckInSyncDto {
+    
+    private String kioskId;
+    
+    @Valid
+    @Size(max = 5000, message = "At most 5000 check-ins can be synced per request")
+    @Builder.Default
+    private List<ScannedTicket> checkIns = new ArrayList<>();
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ScannedTicket {
+        
+        @NotBlank(message = "Ticket token is required")
+        private String token;
+        
+        private LocalDateTime scannedAt;
+    }
+}
@@ -0,0 +1,42 @@
+package com.clubbing.clubbing.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Position of the last row of a page: its sort timestamp (if the list is ordered by one)
+ * and its id as tie-breaker. Encoded as an opaque URL-safe string.
+ */
+public record PageCursor(LocalDateTime timestamp, Long id) {
+    
+    public static String encode(Long id) {
+        return encode(null, id);
+    }
+    
+    public static String encode(LocalDateTime timestamp, Long id) {
+        String raw = (timestamp != null ? timestamp.toString() : "") + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Decode a cursor; empty for a missing or malformed cursor, which callers treat as the first page
+     */
+    public static Optional<PageCursor> decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator < 0) {
+                return Optional.empty();
+            }
+            LocalDateTime timestamp = separator > 0 ? LocalDateTime.parse(raw.substring(0, separator)) : null;
+            return Optional.of(new PageCursor(timestamp, Long.valueOf(raw.substring(separator + 1))));
+        } catch (RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+}
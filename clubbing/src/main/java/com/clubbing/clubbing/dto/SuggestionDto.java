@@ -0,0 +1,21 @@
+package com.clubbing.clubbing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SuggestionDto {
+    
+    public static final String TYPE_CLUB = "CLUB";
+    public static final String TYPE_CATEGORY = "CATEGORY";
+    public static final String TYPE_EVENT = "EVENT";
+    
+    private String type;
+    private String label;
+    private Long id; // null for categories
+}
@@ -0,0 +1,19 @@
+package com.clubbing.clubbing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketVerificationDto {
+    
+    private boolean valid;
+    private Long registrationId;
+    private Long eventId;
+    private Long userId;
+    private String message;
+}
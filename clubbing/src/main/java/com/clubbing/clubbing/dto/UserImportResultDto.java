@@ -0,0 +1,54 @@
+package com.clubbing.clubbing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class UserImportResultDto {
+    
+    private String jobId;
+    private Status status;
+    private String message;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private int rowsRead;
+    private int usersCreated;
+    private int membershipsCreated;
+    private int failed;
+    @Builder.Default
+    private List<RowError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+    
+    /**
+     * Copy of the counters and errors so far, safe to hand out while the import keeps running
+     */
+    public UserImportResultDto snapshot() {
+        return toBuilder().errors(new ArrayList<>(errors)).build();
+    }
+    
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        
+        private int line;
+        private String email;
+        private String message;
+    }
+}
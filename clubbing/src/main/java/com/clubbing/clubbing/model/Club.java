@@ -52,7 +52,8 @@ public class Club {
     @Builder.Default
     private boolean isActive = true;
     
-    @Column(name = "member_count")
+    // Maintained by ClubRepository increment/decrement updates; never written from entity state
+    @Column(name = "member_count", updatable = false)
     @Builder.Default
     private int memberCount = 0;
     
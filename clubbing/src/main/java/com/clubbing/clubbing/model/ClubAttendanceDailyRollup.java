@@ -0,0 +1,40 @@
+package com.clubbing.clubbing.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Attendance totals of one club's events held on one day, for trends
+ */
+@Entity
+@Table(name = "club_attendance_daily_rollups",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"club_id", "event_day"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClubAttendanceDailyRollup {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "club_id", nullable = false)
+    private Long clubId;
+    
+    @Column(name = "event_day", nullable = false)
+    private LocalDate eventDay;
+    
+    @Column(name = "attended", nullable = false)
+    @Builder.Default
+    private long attended = 0;
+    
+    @Column(name = "no_shows", nullable = false)
+    @Builder.Default
+    private long noShows = 0;
+}
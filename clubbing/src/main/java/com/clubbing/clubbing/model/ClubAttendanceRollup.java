@@ -0,0 +1,31 @@
+package com.clubbing.clubbing.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running attendance totals over all events of one club
+ */
+@Entity
+@Table(name = "club_attendance_rollups")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClubAttendanceRollup {
+    
+    @Id
+    @Column(name = "club_id")
+    private Long clubId;
+    
+    @Column(name = "attended", nullable = false)
+    @Builder.Default
+    private long attended = 0;
+    
+    @Column(name = "no_shows", nullable = false)
+    @Builder.Default
+    private long noShows = 0;
+}
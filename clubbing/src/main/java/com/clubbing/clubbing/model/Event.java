@@ -73,11 +73,12 @@ public class Event {
     @Column(name = "registration_deadline")
     private LocalDateTime registrationDeadline;
     
-    @Column(name = "registration_count")
+    // Counters are maintained by EventRepository conditional/increment updates; never written from entity state
+    @Column(name = "registration_count", updatable = false)
     @Builder.Default
     private Integer registrationCount = 0;
     
-    @Column(name = "attendance_count")
+    @Column(name = "attendance_count", updatable = false)
     @Builder.Default
     private Integer attendanceCount = 0;
     
@@ -151,20 +152,4 @@ public class Event {
     public boolean canDelete() {
         return status == EventStatus.DRAFT || (status == EventStatus.PUBLISHED && registrationCount == 0);
     }
-    
-    public void incrementRegistrationCount() {
-        this.registrationCount = (this.registrationCount == null ? 0 : this.registrationCount) + 1;
-    }
-    
-    public void decrementRegistrationCount() {
-        this.registrationCount = Math.max(0, (this.registrationCount == null ? 0 : this.registrationCount) - 1);
-    }
-    
-    public void incrementAttendanceCount() {
-        this.attendanceCount = (this.attendanceCount == null ? 0 : this.attendanceCount) + 1;
-    }
-    
-    public void decrementAttendanceCount() {
-        this.attendanceCount = Math.max(0, (this.attendanceCount == null ? 0 : this.attendanceCount) - 1);
-    }
 } 
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.clubbing.clubbing.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running attendance totals of one event, kept up to date on check-in and event completion
+ */
+@Entity
+@Table(name = "event_attendance_rollups",
+       indexes = @Index(name = "idx_event_attendance_rollups_club", columnList = "club_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventAttendanceRollup {
+    
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+    
+    @Column(name = "club_id", nullable = false)
+    private Long clubId;
+    
+    @Column(name = "attended", nullable = false)
+    @Builder.Default
+    private long attended = 0;
+    
+    @Column(name = "no_shows", nullable = false)
+    @Builder.Default
+    private long noShows = 0;
+}
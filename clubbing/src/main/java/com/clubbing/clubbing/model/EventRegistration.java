@@ -46,6 +46,9 @@ public class EventRegistration {
     @Column(name = "notes", length = 500)
     private String notes;
     
+    @Column(name = "reminder_sent_at")
+    private LocalDateTime reminderSentAt;
+    
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -59,6 +59,10 @@ public class User {
     @Builder.Default
     private boolean emailVerified = true; // Since we're not doing email verification
     
+    // Set when a deactivated account is queued for background deletion
+    @Column(name = "deletion_requested_at")
+    private LocalDateTime deletionRequestedAt;
+    
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
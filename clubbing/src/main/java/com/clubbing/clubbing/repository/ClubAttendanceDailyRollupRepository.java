@@ -0,0 +1,42 @@
+package com.clubbing.clubbing.repository;
+
+import com.clubbing.clubbing.model.ClubAttendanceDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ClubAttendanceDailyRollupRepository extends JpaRepository<ClubAttendanceDailyRollup, Long> {
+    
+    // Check whether a club already has totals for a day
+    boolean existsByClubIdAndEventDay(Long clubId, LocalDate eventDay);
+    
+    // Find a club's daily totals in a date range, oldest first
+    List<ClubAttendanceDailyRollup> findByClubIdAndEventDayBetweenOrderByEventDayAsc(Long clubId,
+                                                                                     LocalDate from,
+                                                                                     LocalDate to);
+    
+    // Atomically add check-ins and no-shows to a club's totals for a day
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ClubAttendanceDailyRollup r SET r.attended = r.attended + :attended, " +
+           "r.noShows = r.noShows + :noShows WHERE r.clubId = :clubId AND r.eventDay = :eventDay")
+    int addAttendance(@Param("clubId") Long clubId,
+                      @Param("eventDay") LocalDate eventDay,
+                      @Param("attended") long attended,
+                      @Param("noShows") long noShows);
+    
+    // Correct drifted totals, only if no increment landed since they were read
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ClubAttendanceDailyRollup r SET r.attended = :attended, r.noShows = :noShows " +
+           "WHERE r.id = :id AND r.attended = :expectedAttended AND r.noShows = :expectedNoShows")
+    int reconcile(@Param("id") Long id,
+                  @Param("expectedAttended") long expectedAttended,
+                  @Param("expectedNoShows") long expectedNoShows,
+                  @Param("attended") long attended,
+                  @Param("noShows") long noShows);
+}
@@ -0,0 +1,30 @@
+package com.clubbing.clubbing.repository;
+
+import com.clubbing.clubbing.model.ClubAttendanceRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ClubAttendanceRollupRepository extends JpaRepository<ClubAttendanceRollup, Long> {
+    
+    // Atomically add check-ins and no-shows to a club's totals
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ClubAttendanceRollup r SET r.attended = r.attended + :attended, " +
+           "r.noShows = r.noShows + :noShows WHERE r.clubId = :clubId")
+    int addAttendance(@Param("clubId") Long clubId,
+                      @Param("attended") long attended,
+                      @Param("noShows") long noShows);
+    
+    // Correct drifted totals, only if no increment landed since they were read
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ClubAttendanceRollup r SET r.attended = :attended, r.noShows = :noShows " +
+           "WHERE r.clubId = :clubId AND r.attended = :expectedAttended AND r.noShows = :expectedNoShows")
+    int reconcile(@Param("clubId") Long clubId,
+                  @Param("expectedAttended") long expectedAttended,
+                  @Param("expectedNoShows") long expectedNoShows,
+                  @Param("attended") long attended,
+                  @Param("noShows") long noShows);
+}
@@ -4,11 +4,15 @@ import com.clubbing.clubbing.model.Club;
 import com.clubbing.clubbing.model.ClubMembership;
 import com.clubbing.clubbing.model.MembershipStatus;
 import com.clubbing.clubbing.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -38,15 +42,30 @@ public interface ClubMembershipRepository extends JpaRepository<ClubMembership,
     @Query("SELECT cm FROM ClubMembership cm WHERE cm.club = :club AND cm.status = 'APPROVED'")
     List<ClubMembership> findActiveByClub(@Param("club") Club club);
     
-    // Find pending requests for a club
-    @Query("SELECT cm FROM ClubMembership cm WHERE cm.club = :club AND cm.status = 'PENDING' ORDER BY cm.requestedAt ASC")
-    List<ClubMembership> findPendingByClub(@Param("club") Club club);
+    // Find the first page of pending requests for a club, oldest first (keyset pagination)
+    @Query("SELECT cm FROM ClubMembership cm WHERE cm.club = :club AND cm.status = 'PENDING' " +
+           "ORDER BY cm.requestedAt ASC, cm.id ASC")
+    List<ClubMembership> findPendingPageByClub(@Param("club") Club club, Pageable pageable);
     
-    // Find pending requests for clubs managed by a user (club admin)
+    // Find the page of pending requests for a club after the given position (keyset pagination)
+    @Query("SELECT cm FROM ClubMembership cm WHERE cm.club = :club AND cm.status = 'PENDING' " +
+           "AND (cm.requestedAt > :afterRequestedAt OR (cm.requestedAt = :afterRequestedAt AND cm.id > :afterId)) " +
+           "ORDER BY cm.requestedAt ASC, cm.id ASC")
+    List<ClubMembership> findPendingPageByClubAfter(@Param("club") Club club,
+                                                    @Param("afterRequestedAt") LocalDateTime afterRequestedAt,
+                                                    @Param("afterId") Long afterId,
+                                                    Pageable pageable);
+    
+    // Find the oldest pending requests for clubs managed by a user (club admin)
     @Query("SELECT cm FROM ClubMembership cm WHERE cm.club IN " +
            "(SELECT c FROM Club c JOIN c.admins a WHERE a = :admin) AND cm.status = 'PENDING' " +
-           "ORDER BY cm.requestedAt ASC")
-    List<ClubMembership> findPendingByClubAdmin(@Param("admin") User admin);
+           "ORDER BY cm.requestedAt ASC, cm.id ASC")
+    List<ClubMembership> findPendingByClubAdmin(@Param("admin") User admin, Pageable pageable);
+    
+    // Count pending requests for clubs managed by a user (club admin)
+    @Query("SELECT COUNT(cm) FROM ClubMembership cm WHERE cm.club IN " +
+           "(SELECT c FROM Club c JOIN c.admins a WHERE a = :admin) AND cm.status = 'PENDING'")
+    long countPendingByClubAdmin(@Param("admin") User admin);
     
     // Count active members for a club
     @Query("SELECT COUNT(cm) FROM ClubMembership cm WHERE cm.club = :club AND cm.status = 'APPROVED'")
@@ -73,4 +92,71 @@ public interface ClubMembershipRepository extends JpaRepository<ClubMembership,
     @Query("SELECT cm FROM ClubMembership cm WHERE cm.club = :club AND cm.status = 'APPROVED' " +
            "AND cm.role IN ('OFFICER', 'VICE_PRESIDENT', 'PRESIDENT') ORDER BY cm.role DESC")
     List<ClubMembership> findLeadershipByClub(@Param("club") Club club);
+    
+    // Find the first page of active memberships for a club (keyset pagination)
+    @Query("SELECT cm FROM ClubMembership cm WHERE cm.club = :club AND cm.status = 'APPROVED' " +
+           "ORDER BY cm.requestedAt ASC, cm.id ASC")
+    List<ClubMembership> findActivePageByClub(@Param("club") Club club, Pageable pageable);
+    
+    // Find the page of active memberships for a club after the given position (keyset pagination)
+    @Query("SELECT cm FROM ClubMembership cm WHERE cm.club = :club AND cm.status = 'APPROVED' " +
+           "AND (cm.requestedAt > :afterRequestedAt OR (cm.requestedAt = :afterRequestedAt AND cm.id > :afterId)) " +
+           "ORDER BY cm.requestedAt ASC, cm.id ASC")
+    List<ClubMembership> findActivePageByClubAfter(@Param("club") Club club,
+                                                   @Param("afterRequestedAt") LocalDateTime afterRequestedAt,
+                                                   @Param("afterId") Long afterId,
+                                                   Pageable pageable);
+    
+    // Count active members of every club in one pass as [clubId, count] rows
+    @Query("SELECT cm.club.id, COUNT(cm) FROM ClubMembership cm WHERE cm.status = 'APPROVED' GROUP BY cm.club.id")
+    List<Object[]> countActiveGroupByClub();
+    
+    // Move a membership between statuses only if it is still in the expected one
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ClubMembership cm SET cm.status = :to WHERE cm.id = :id AND cm.status = :from")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("from") MembershipStatus from,
+                         @Param("to") MembershipStatus to);
+    
+    // Find [membershipId, clubId] rows for the given requests that are still pending
+    @Query("SELECT cm.id, cm.club.id FROM ClubMembership cm WHERE cm.id IN :ids AND cm.status = 'PENDING'")
+    List<Object[]> findPendingClubIdsByIds(@Param("ids") Collection<Long> ids);
+    
+    // Find [clubId, status, requestedAt, joinedAt, processedAt] rows of every membership
+    @Query("SELECT cm.club.id, cm.status, cm.requestedAt, cm.joinedAt, cm.processedAt FROM ClubMembership cm")
+    List<Object[]> findGrowthTimeline();
+    
+    // Find [userId, clubId] rows of every active membership
+    @Query("SELECT cm.user.id, cm.club.id FROM ClubMembership cm WHERE cm.status = 'APPROVED'")
+    List<Object[]> findActiveUserClubPairs();
+    
+    // Find the clubs a user has a pending request for
+    @Query("SELECT cm.club.id FROM ClubMembership cm WHERE cm.user = :user AND cm.status = 'PENDING'")
+    List<Long> findPendingClubIdsByUser(@Param("user") User user);
+    
+    // Find the users whose requests of one club among the given ones were approved by an admin
+    @Query("SELECT cm.user.id FROM ClubMembership cm WHERE cm.club.id = :clubId AND cm.id IN :ids " +
+           "AND cm.status = 'APPROVED' AND cm.processedBy = :admin")
+    List<Long> findUserIdsApprovedBy(@Param("clubId") Long clubId,
+                                     @Param("ids") Collection<Long> ids,
+                                     @Param("admin") User admin);
+    
+    // Find the clubs a user is an active member of
+    @Query("SELECT cm.club.id FROM ClubMembership cm WHERE cm.user = :user AND cm.status = 'APPROVED'")
+    List<Long> findActiveClubIdsByUser(@Param("user") User user);
+    
+    // Count memberships of a user, whatever their status
+    long countByUser(User user);
+    
+    // Delete all memberships of a user in one statement (for user deletion)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ClubMembership cm WHERE cm.user = :user")
+    int deleteByUser(@Param("user") User user);
+    
+    // Detach memberships from the user who processed them, recording who it was in the notes
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ClubMembership cm SET cm.processedBy = NULL, " +
+           "cm.notes = SUBSTRING(CONCAT(COALESCE(cm.notes, ''), :note), 1, 500) " +
+           "WHERE cm.processedBy = :user")
+    int clearProcessedBy(@Param("user") User user, @Param("note") String note);
 } 
\ No newline at end of file
@@ -2,11 +2,14 @@ package com.clubbing.clubbing.repository;
 
 import com.clubbing.clubbing.model.Club;
 import com.clubbing.clubbing.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,6 +33,10 @@ public interface ClubRepository extends JpaRepository<Club, Long> {
     @Query("SELECT c FROM Club c JOIN c.admins a WHERE a.id = :adminId")
     List<Club> findByAdminId(@Param("adminId") Long adminId);
     
+    // Find the ids of the clubs managed by a specific user
+    @Query("SELECT c.id FROM Club c JOIN c.admins a WHERE a.id = :adminId")
+    List<Long> findIdsByAdminId(@Param("adminId") Long adminId);
+    
     // Check if club name exists (for validation)
     boolean existsByNameIgnoreCase(String name);
     
@@ -52,4 +59,53 @@ public interface ClubRepository extends JpaRepository<Club, Long> {
            "LOWER(c.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) AND " +
            "c.isActive = true")
     List<Club> searchActiveClubs(@Param("searchTerm") String searchTerm);
+    
+    // Find a page of clubs after the given id (keyset pagination)
+    @Query("SELECT c FROM Club c WHERE c.id > :afterId ORDER BY c.id ASC")
+    List<Club> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    // Find [id, name] rows of all active clubs
+    @Query("SELECT c.id, c.name FROM Club c WHERE c.isActive = true")
+    List<Object[]> findActiveIdsAndNames();
+    
+    // Find admin names for a set of clubs in one query; rows are [clubId, adminName]
+    @Query("SELECT c.id, a.name FROM Club c JOIN c.admins a WHERE c.id IN :clubIds ORDER BY a.name ASC")
+    List<Object[]> findAdminNamesByClubIds(@Param("clubIds") Collection<Long> clubIds);
+    
+    // Atomically add an approved member to the club's counter
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Club c SET c.memberCount = c.memberCount + 1 WHERE c.id = :clubId")
+    int incrementMemberCount(@Param("clubId") Long clubId);
+    
+    // Atomically add several approved members to the club's counter
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Club c SET c.memberCount = c.memberCount + :delta WHERE c.id = :clubId")
+    int addToMemberCount(@Param("clubId") Long clubId, @Param("delta") int delta);
+    
+    // Atomically remove a member from the club's counter
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Club c SET c.memberCount = c.memberCount - 1 WHERE c.id = :clubId AND c.memberCount > 0")
+    int decrementMemberCount(@Param("clubId") Long clubId);
+    
+    // Correct a drifted counter, only if no increment/decrement landed since it was read
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Club c SET c.memberCount = :actual WHERE c.id = :clubId AND c.memberCount = :expected")
+    int reconcileMemberCount(@Param("clubId") Long clubId,
+                             @Param("expected") int expected,
+                             @Param("actual") int actual);
+    
+    // Find the stored member counter of every club as [clubId, memberCount] rows
+    @Query("SELECT c.id, c.memberCount FROM Club c")
+    List<Object[]> findAllMemberCounts();
+    
+    // Decrement the counter of every club the user is an approved member of
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Club c SET c.memberCount = c.memberCount - 1 WHERE c.memberCount > 0 AND c.id IN " +
+           "(SELECT cm.club.id FROM ClubMembership cm WHERE cm.user = :user AND cm.status = 'APPROVED')")
+    int decrementMemberCountsForMember(@Param("user") User user);
+    
+    // Remove a user from the admins of every club
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM club_admins WHERE user_id = :userId", nativeQuery = true)
+    int removeAdminFromAllClubs(@Param("userId") Long userId);
 } 
\ No newline at end of file
@@ -1,17 +1,22 @@
 package com.clubbing.clubbing.repository;
 
-import com.clubbing.clubbing.model.Club;
 import com.clubbing.clubbing.model.Event;
 import com.clubbing.clubbing.model.EventAttendance;
 import com.clubbing.clubbing.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EventAttendanceRepository extends JpaRepository<EventAttendance, Long> {
@@ -22,6 +27,13 @@ public interface EventAttendanceRepository extends JpaRepository<EventAttendance
     // Find all attendance records for an event
     List<EventAttendance> findByEvent(Event event);
     
+    // Stream an event's attendance for export as scalar rows (nothing enters the persistence context):
+    // [attendanceId, userName, userEmail, studentId, attended, checkInTime, markedByName, notes]
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT a.id, u.name, u.email, u.studentId, a.attended, a.checkInTime, m.name, a.notes " +
+           "FROM EventAttendance a JOIN a.user u LEFT JOIN a.markedBy m WHERE a.event.id = :eventId ORDER BY a.id")
+    Stream<Object[]> streamExportRowsByEventId(@Param("eventId") Long eventId);
+    
     // Find all attendance records for a user
     List<EventAttendance> findByUser(User user);
     
@@ -78,16 +90,34 @@ public interface EventAttendanceRepository extends JpaRepository<EventAttendance
     // Find attendance records marked by specific user
     List<EventAttendance> findByMarkedBy(User markedBy);
     
-    // Get attendance statistics for a club
-    @Query("SELECT COUNT(ea), " +
-           "SUM(CASE WHEN ea.attended = true THEN 1 ELSE 0 END), " +
-           "SUM(CASE WHEN ea.attended = false THEN 1 ELSE 0 END) " +
-           "FROM EventAttendance ea WHERE ea.event.club = :club")
-    Object[] getAttendanceStatsByClub(@Param("club") Club club);
+    // Count check-ins of every event in one pass as [eventId, count] rows (for rollup reconciliation)
+    @Query("SELECT ea.event.id, COUNT(ea) FROM EventAttendance ea WHERE ea.attended = true GROUP BY ea.event.id")
+    List<Object[]> countAttendedGroupByEvent();
     
     // Delete attendance records by event (for cleanup)
     void deleteByEvent(Event event);
     
-    // Delete attendance records by user (for user deletion)
-    void deleteByUser(User user);
-} 
\ No newline at end of file
+    // Delete attendance records by user in one statement (for user deletion)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM EventAttendance ea WHERE ea.user = :user")
+    int deleteByUser(@Param("user") User user);
+    
+    // Find [eventId, clubId, eventDate] of every event a user was checked in at
+    @Query("SELECT ea.event.id, ea.event.club.id, ea.event.eventDate FROM EventAttendance ea " +
+           "WHERE ea.user = :user AND ea.attended = true")
+    List<Object[]> findAttendedEventsByUser(@Param("user") User user);
+    
+    // Count attendance records of a user
+    long countByUser(User user);
+    
+    // Detach attendance records from the user who marked them
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE EventAttendance ea SET ea.markedBy = NULL WHERE ea.markedBy = :user")
+    int clearMarkedBy(@Param("user") User user);
+    
+    // Find [userId, attended, checkInTime] for the attendance rows of the given users at an event
+    @Query("SELECT ea.user.id, ea.attended, ea.checkInTime FROM EventAttendance ea " +
+           "WHERE ea.event.id = :eventId AND ea.user.id IN :userIds")
+    List<Object[]> findAttendanceStateByEventAndUsers(@Param("eventId") Long eventId,
+                                                      @Param("userIds") Collection<Long> userIds);
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.clubbing.clubbing.repository;
+
+import com.clubbing.clubbing.model.EventAttendanceRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EventAttendanceRollupRepository extends JpaRepository<EventAttendanceRollup, Long> {
+    
+    // Atomically add check-ins and no-shows to an event's totals
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE EventAttendanceRollup r SET r.attended = r.attended + :attended, " +
+           "r.noShows = r.noShows + :noShows WHERE r.eventId = :eventId")
+    int addAttendance(@Param("eventId") Long eventId,
+                      @Param("attended") long attended,
+                      @Param("noShows") long noShows);
+    
+    // Correct drifted totals, only if no increment landed since they were read
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE EventAttendanceRollup r SET r.attended = :attended, r.noShows = :noShows " +
+           "WHERE r.eventId = :eventId AND r.attended = :expectedAttended AND r.noShows = :expectedNoShows")
+    int reconcile(@Param("eventId") Long eventId,
+                  @Param("expectedAttended") long expectedAttended,
+                  @Param("expectedNoShows") long expectedNoShows,
+                  @Param("attended") long attended,
+                  @Param("noShows") long noShows);
+}
@@ -1,17 +1,25 @@
 package com.clubbing.clubbing.repository;
 
+import com.clubbing.clubbing.dto.EventReminderDto;
 import com.clubbing.clubbing.model.Event;
 import com.clubbing.clubbing.model.EventRegistration;
 import com.clubbing.clubbing.model.RegistrationStatus;
 import com.clubbing.clubbing.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EventRegistrationRepository extends JpaRepository<EventRegistration, Long> {
@@ -22,6 +30,13 @@ public interface EventRegistrationRepository extends JpaRepository<EventRegistra
     // Find all registrations for an event
     List<EventRegistration> findByEvent(Event event);
     
+    // Stream an event's registrations for export as scalar rows (nothing enters the persistence context):
+    // [registrationId, userName, userEmail, studentId, department, status, registrationDate, cancellationDate]
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT r.id, u.name, u.email, u.studentId, u.department, r.status, r.registrationDate, " +
+           "r.cancellationDate FROM EventRegistration r JOIN r.user u WHERE r.event.id = :eventId ORDER BY r.id")
+    Stream<Object[]> streamExportRowsByEventId(@Param("eventId") Long eventId);
+    
     // Find all registrations for a user
     List<EventRegistration> findByUser(User user);
     
@@ -47,6 +62,11 @@ public interface EventRegistrationRepository extends JpaRepository<EventRegistra
            "AND er.event.eventDate > :now ORDER BY er.event.eventDate ASC")
     List<EventRegistration> findUpcomingByUser(@Param("user") User user, @Param("now") LocalDateTime now);
     
+    // Find [userId, eventId, title, eventDate] rows of active registrations for open events starting after a time
+    @Query("SELECT er.user.id, e.id, e.title, e.eventDate FROM EventRegistration er JOIN er.event e " +
+           "WHERE er.status IN ('REGISTERED', 'WAITLISTED') AND e.status = 'PUBLISHED' AND e.eventDate > :from")
+    List<Object[]> findActiveSlotsFrom(@Param("from") LocalDateTime from);
+    
     // Find past registrations for a user
     @Query("SELECT er FROM EventRegistration er WHERE er.user = :user " +
            "AND er.event.eventDate < :now ORDER BY er.event.eventDate DESC")
@@ -67,6 +87,11 @@ public interface EventRegistrationRepository extends JpaRepository<EventRegistra
            "AND er.status = 'WAITLISTED'")
     long countWaitlistedByEvent(@Param("event") Event event);
     
+    // Check whether anyone is waiting for a seat at an event
+    @Query("SELECT COUNT(er) > 0 FROM EventRegistration er WHERE er.event.id = :eventId " +
+           "AND er.status = 'WAITLISTED'")
+    boolean hasWaitlist(@Param("eventId") Long eventId);
+    
     // Count total registrations for an event (including cancelled)
     long countByEvent(Event event);
     
@@ -99,6 +124,82 @@ public interface EventRegistrationRepository extends JpaRepository<EventRegistra
     // Delete registrations by event (for cleanup)
     void deleteByEvent(Event event);
     
-    // Delete registrations by user (for user deletion)
-    void deleteByUser(User user);
-} 
\ No newline at end of file
+    // Find [eventId, clubId, eventDate] of every event a user was marked a no-show at
+    @Query("SELECT er.event.id, er.event.club.id, er.event.eventDate FROM EventRegistration er " +
+           "WHERE er.user = :user AND er.status = 'NO_SHOW'")
+    List<Object[]> findNoShowEventsByUser(@Param("user") User user);
+    
+    // Delete registrations by user in one statement (for user deletion)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM EventRegistration er WHERE er.user = :user")
+    int deleteByUser(@Param("user") User user);
+    
+    // Find the published events on which a user currently holds a seat
+    @Query("SELECT er.event.id FROM EventRegistration er WHERE er.user = :user " +
+           "AND er.status = 'REGISTERED' AND er.event.status = 'PUBLISHED'")
+    List<Long> findSeatHoldingEventIdsByUser(@Param("user") User user);
+    
+    // Find the ids of the next waitlisted registrations for an event (FIFO)
+    @Query("SELECT er.id FROM EventRegistration er WHERE er.event.id = :eventId " +
+           "AND er.status = 'WAITLISTED' ORDER BY er.registrationDate ASC, er.id ASC")
+    List<Long> findWaitlistedIdsByEventId(@Param("eventId") Long eventId, Pageable pageable);
+    
+    // Move a set of registrations from one status to another in a single statement
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE EventRegistration er SET er.status = :newStatus " +
+           "WHERE er.id IN :ids AND er.status = :currentStatus")
+    int updateStatusByIds(@Param("ids") Collection<Long> ids,
+                          @Param("currentStatus") RegistrationStatus currentStatus,
+                          @Param("newStatus") RegistrationStatus newStatus);
+    
+    // Find [userId, status] for the given users holding a registration an event check-in can apply to
+    @Query("SELECT er.user.id, er.status FROM EventRegistration er WHERE er.event.id = :eventId " +
+           "AND er.user.id IN :userIds AND er.status IN ('REGISTERED', 'ATTENDED', 'NO_SHOW')")
+    List<Object[]> findCheckInStatuses(@Param("eventId") Long eventId,
+                                       @Param("userIds") Collection<Long> userIds);
+    
+    // Move the registrations of a set of users at an event from one status to another
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE EventRegistration er SET er.status = :newStatus " +
+           "WHERE er.event.id = :eventId AND er.user.id IN :userIds AND er.status = :currentStatus")
+    int updateStatusByEventAndUsers(@Param("eventId") Long eventId,
+                                    @Param("userIds") Collection<Long> userIds,
+                                    @Param("currentStatus") RegistrationStatus currentStatus,
+                                    @Param("newStatus") RegistrationStatus newStatus);
+    
+    // Next page of unsent reminders in the window, keyset-paginated on registration id
+    @Query("SELECT new com.clubbing.clubbing.dto.EventReminderDto(er.id, u.name, u.email, e.id, e.title, " +
+           "e.eventDate, e.location) FROM EventRegistration er JOIN er.user u JOIN er.event e " +
+           "WHERE er.status = 'REGISTERED' AND er.reminderSentAt IS NULL " +
+           "AND e.eventDate BETWEEN :startTime AND :endTime AND er.id > :afterId ORDER BY er.id ASC")
+    List<EventReminderDto> findPendingRemindersAfter(@Param("startTime") LocalDateTime startTime,
+                                                     @Param("endTime") LocalDateTime endTime,
+                                                     @Param("afterId") Long afterId,
+                                                     Pageable pageable);
+    
+    // Record that reminders went out; only rows not yet marked are touched
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE EventRegistration er SET er.reminderSentAt = :sentAt " +
+           "WHERE er.id IN :ids AND er.reminderSentAt IS NULL")
+    int markRemindersSent(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+    
+    // Mark registrations that were never checked in as no-shows for published events past the cutoff
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE EventRegistration er SET er.status = :noShow, er.updatedAt = :now " +
+           "WHERE er.status = 'REGISTERED' AND er.event.id IN " +
+           "(SELECT e.id FROM Event e WHERE e.status = 'PUBLISHED' AND e.eventDate < :cutoffTime)")
+    int markNoShowsForEventsBefore(@Param("cutoffTime") LocalDateTime cutoffTime,
+                                   @Param("noShow") RegistrationStatus noShow,
+                                   @Param("now") LocalDateTime now);
+    
+    // Count the registrations the next lifecycle run will mark as no-shows, as
+    // [eventId, clubId, eventDate, count] rows
+    @Query("SELECT er.event.id, er.event.club.id, er.event.eventDate, COUNT(er) FROM EventRegistration er " +
+           "WHERE er.status = 'REGISTERED' AND er.event.status = 'PUBLISHED' AND er.event.eventDate < :cutoffTime " +
+           "GROUP BY er.event.id, er.event.club.id, er.event.eventDate")
+    List<Object[]> countNoShowsForEventsBefore(@Param("cutoffTime") LocalDateTime cutoffTime);
+    
+    // Count registrations of every event with the given status as [eventId, count] rows
+    @Query("SELECT er.event.id, COUNT(er) FROM EventRegistration er WHERE er.status = :status GROUP BY er.event.id")
+    List<Object[]> countByStatusGroupByEvent(@Param("status") RegistrationStatus status);
+}
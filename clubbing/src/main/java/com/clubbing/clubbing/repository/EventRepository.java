@@ -1,21 +1,31 @@
 package com.clubbing.clubbing.repository;
 
+import com.clubbing.clubbing.dto.EventDto;
 import com.clubbing.clubbing.model.Club;
 import com.clubbing.clubbing.model.Event;
 import com.clubbing.clubbing.model.EventStatus;
 import com.clubbing.clubbing.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
     
+    // Builds EventDto rows directly, joining club and creator instead of lazy-loading them per event
+    String EVENT_DTO_SELECT = "SELECT new com.clubbing.clubbing.dto.EventDto(e.id, e.title, e.description, " +
+           "c.id, c.name, e.eventDate, e.location, e.capacity, e.status, u.id, u.name, e.imageUrl, " +
+           "e.registrationDeadline, e.registrationCount, e.attendanceCount, e.createdAt, e.updatedAt) " +
+           "FROM Event e JOIN e.club c JOIN e.createdBy u ";
+    
     // Find events by club
     List<Event> findByClub(Club club);
     
@@ -99,4 +109,124 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     // Find events that need to be marked as completed
     @Query("SELECT e FROM Event e WHERE e.eventDate < :cutoffTime AND e.status = 'PUBLISHED'")
     List<Event> findEventsToMarkCompleted(@Param("cutoffTime") LocalDateTime cutoffTime);
-} 
\ No newline at end of file
+    
+    // Atomically reserve a seat; only matches while the event is open and below capacity (0 = unlimited)
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Event e SET e.registrationCount = e.registrationCount + 1 WHERE e.id = :eventId " +
+           "AND e.status = 'PUBLISHED' " +
+           "AND (e.capacity IS NULL OR e.capacity = 0 OR e.registrationCount < e.capacity)")
+    int reserveSeat(@Param("eventId") Long eventId);
+    
+    // Atomically release a previously reserved seat
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Event e SET e.registrationCount = e.registrationCount - 1 " +
+           "WHERE e.id = :eventId AND e.registrationCount > 0")
+    int releaseSeat(@Param("eventId") Long eventId);
+    
+    // Atomically reserve several seats at once; matches only if all of them fit
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Event e SET e.registrationCount = e.registrationCount + :count WHERE e.id = :eventId " +
+           "AND e.status = 'PUBLISHED' " +
+           "AND (e.capacity IS NULL OR e.capacity = 0 OR e.registrationCount + :count <= e.capacity)")
+    int reserveSeats(@Param("eventId") Long eventId, @Param("count") int count);
+    
+    // Atomically release several previously reserved seats
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Event e SET e.registrationCount = e.registrationCount - :count " +
+           "WHERE e.id = :eventId AND e.registrationCount >= :count")
+    int releaseSeats(@Param("eventId") Long eventId, @Param("count") int count);
+    
+    // Atomically release one seat on each of the given events
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Event e SET e.registrationCount = e.registrationCount - 1 " +
+           "WHERE e.id IN :eventIds AND e.registrationCount > 0")
+    int releaseSeatOnEach(@Param("eventIds") Collection<Long> eventIds);
+    
+    // Check whether a user created any events
+    boolean existsByCreatedBy(User createdBy);
+    
+    // Take one check-in off the attendance counter of each given event
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Event e SET e.attendanceCount = e.attendanceCount - 1 " +
+           "WHERE e.id IN :eventIds AND e.attendanceCount > 0")
+    int releaseAttendanceOnEach(@Param("eventIds") Collection<Long> eventIds);
+    
+    // Add a batch of check-ins to the attendance counter in place
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Event e SET e.attendanceCount = e.attendanceCount + :count WHERE e.id = :eventId")
+    int incrementAttendanceCount(@Param("eventId") Long eventId, @Param("count") int count);
+    
+    // Complete all published events that started before the cutoff in one statement
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Event e SET e.status = :completed, e.updatedAt = :now " +
+           "WHERE e.status = 'PUBLISHED' AND e.eventDate < :cutoffTime")
+    int markEventsCompleted(@Param("cutoffTime") LocalDateTime cutoffTime,
+                            @Param("completed") EventStatus completed,
+                            @Param("now") LocalDateTime now);
+    
+    // Find the first page of published events (keyset pagination)
+    @Query(EVENT_DTO_SELECT + "WHERE e.status = 'PUBLISHED' ORDER BY e.eventDate ASC, e.id ASC")
+    List<EventDto> findPublishedPage(Pageable pageable);
+    
+    // Find the page of published events after the given position (keyset pagination)
+    @Query(EVENT_DTO_SELECT + "WHERE e.status = 'PUBLISHED' " +
+           "AND (e.eventDate > :afterDate OR (e.eventDate = :afterDate AND e.id > :afterId)) " +
+           "ORDER BY e.eventDate ASC, e.id ASC")
+    List<EventDto> findPublishedPageAfter(@Param("afterDate") LocalDateTime afterDate,
+                                       @Param("afterId") Long afterId,
+                                       Pageable pageable);
+    
+    // Find upcoming published events, soonest first, limited by the pageable
+    @Query(EVENT_DTO_SELECT + "WHERE e.status = 'PUBLISHED' AND e.eventDate > :now ORDER BY e.eventDate ASC")
+    List<EventDto> findUpcomingPublishedEvents(@Param("now") LocalDateTime now, Pageable pageable);
+    
+    // Find the first page of events by club admin, optionally by status (keyset pagination)
+    @Query(EVENT_DTO_SELECT + "WHERE e.club IN " +
+           "(SELECT ac FROM Club ac JOIN ac.admins a WHERE a = :admin) " +
+           "AND (:status IS NULL OR e.status = :status) " +
+           "ORDER BY e.eventDate DESC, e.id DESC")
+    List<EventDto> findPageByClubAdmin(@Param("admin") User admin,
+                                    @Param("status") EventStatus status,
+                                    Pageable pageable);
+    
+    // Find the page of events by club admin after the given position, optionally by status (keyset pagination)
+    @Query(EVENT_DTO_SELECT + "WHERE e.club IN " +
+           "(SELECT ac FROM Club ac JOIN ac.admins a WHERE a = :admin) " +
+           "AND (:status IS NULL OR e.status = :status) " +
+           "AND (e.eventDate < :afterDate OR (e.eventDate = :afterDate AND e.id < :afterId)) " +
+           "ORDER BY e.eventDate DESC, e.id DESC")
+    List<EventDto> findPageByClubAdminAfter(@Param("admin") User admin,
+                                         @Param("status") EventStatus status,
+                                         @Param("afterDate") LocalDateTime afterDate,
+                                         @Param("afterId") Long afterId,
+                                         Pageable pageable);
+    
+    // Find upcoming events by club admin, soonest first, limited by the pageable
+    @Query(EVENT_DTO_SELECT + "WHERE e.club IN " +
+           "(SELECT ac FROM Club ac JOIN ac.admins a WHERE a = :admin) " +
+           "AND e.eventDate > :now ORDER BY e.eventDate ASC")
+    List<EventDto> findUpcomingByClubAdmin(@Param("admin") User admin, @Param("now") LocalDateTime now,
+                                        Pageable pageable);
+    
+    // Count events by status for the clubs of a club admin; rows are [status, count]
+    @Query("SELECT e.status, COUNT(e) FROM Event e WHERE e.club IN " +
+           "(SELECT c FROM Club c JOIN c.admins a WHERE a = :admin) GROUP BY e.status")
+    List<Object[]> countByClubAdminGroupByStatus(@Param("admin") User admin);
+    
+    // Count upcoming events for the clubs of a club admin
+    @Query("SELECT COUNT(e) FROM Event e WHERE e.club IN " +
+           "(SELECT c FROM Club c JOIN c.admins a WHERE a = :admin) AND e.eventDate > :now")
+    long countUpcomingByClubAdmin(@Param("admin") User admin, @Param("now") LocalDateTime now);
+    
+    // Find events of a club as DTOs
+    @Query(EVENT_DTO_SELECT + "WHERE c.id = :clubId ORDER BY e.eventDate ASC, e.id ASC")
+    List<EventDto> findDtosByClubId(@Param("clubId") Long clubId);
+    
+    // Find events by ids as DTOs (order is not preserved)
+    @Query(EVENT_DTO_SELECT + "WHERE e.id IN :ids")
+    List<EventDto> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Find the club and date of every event as [eventId, clubId, eventDate] rows
+    @Query("SELECT e.id, e.club.id, e.eventDate FROM Event e")
+    List<Object[]> findAllClubIdsAndDates();
+}
@@ -2,11 +2,13 @@ package com.clubbing.clubbing.repository;
 
 import com.clubbing.clubbing.model.User;
 import com.clubbing.clubbing.model.UserRole;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -46,4 +48,29 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     // Count active users
     long countByIsActiveTrue();
+    
+    // Count users per role and status in one pass as [role, isActive, count] rows
+    @Query("SELECT u.role, u.isActive, COUNT(u) FROM User u GROUP BY u.role, u.isActive")
+    List<Object[]> countGroupByRoleAndActive();
+    
+    // Resolve [id, studentId] pairs for a set of student IDs
+    @Query("SELECT u.id, u.studentId FROM User u WHERE u.studentId IN :studentIds")
+    List<Object[]> findIdsByStudentIds(@Param("studentIds") Collection<String> studentIds);
+    
+    // Find which of the given emails are already registered
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
+    // Resolve [id, email] pairs for a set of emails
+    @Query("SELECT u.id, u.email FROM User u WHERE u.email IN :emails")
+    List<Object[]> findIdsByEmails(@Param("emails") Collection<String> emails);
+    
+    // Find a page of users after the given id (keyset pagination)
+    @Query("SELECT u FROM User u WHERE u.id > :afterId ORDER BY u.id ASC")
+    List<User> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    // Find the users queued for background deletion, oldest request first
+    @Query("SELECT u.id FROM User u WHERE u.deletionRequestedAt IS NOT NULL " +
+           "ORDER BY u.deletionRequestedAt ASC, u.id ASC")
+    List<Long> findIdsPendingDeletion(Pageable pageable);
 } 
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.clubbing.clubbing.service;
+
+import com.clubbing.clubbing.model.ClubAttendanceDailyRollup;
+import com.clubbing.clubbing.model.Event;
+import com.clubbing.clubbing.model.User;
+import com.clubbing.clubbing.repository.ClubAttendanceDailyRollupRepository;
+import com.clubbing.clubbing.repository.ClubAttendanceRollupRepository;
+import com.clubbing.clubbing.repository.ClubRepository;
+import com.clubbing.clubbing.repository.EventAttendanceRollupRepository;
+import com.clubbing.clubbing.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Attendance analytics for events and clubs, read from the rollups kept by
+ * {@link AttendanceRollupService}. Rates are over settled registrations: those that
+ * were checked in or marked as no-shows.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class AttendanceAnalyticsService {
+
+    // Longest trend window served in one request
+    private static final int MAX_TREND_DAYS = 366;
+
+    private final EventAttendanceRollupRepository eventRollupRepository;
+    private final ClubAttendanceRollupRepository clubRollupRepository;
+    private final ClubAttendanceDailyRollupRepository dailyRollupRepository;
+    private final EventRepository eventRepository;
+    private final ClubRepository clubRepository;
+    private final CurrentUserService currentUserService;
+
+    /**
+     * Attendance summary of one event (Club Admin)
+     */
+    public AttendanceSummary getEventAttendance(Long eventId, String adminEmail) {
+        Event event = eventRepository.findById(eventId)
+            .orElseThrow(() -> new RuntimeException("Event not found"));
+        checkCanView(event.getClub().getId(), adminEmail);
+
+        return eventRollupRepository.findById(eventId)
+            .map(rollup -> AttendanceSummary.of(rollup.getAttended(), rollup.getNoShows()))
+            .orElse(AttendanceSummary.EMPTY);
+    }
+
+    /**
+     * Attendance summary of a club with its daily trend over the last days (Club Admin)
+     */
+    public ClubAttendanceReport getClubAttendance(Long clubId, int days, String adminEmail) {
+        if (!clubRepository.existsById(clubId)) {
+            throw new RuntimeException("Club not found");
+        }
+        checkCanView(clubId, adminEmail);
+
+        AttendanceSummary summary = clubRollupRepository.findById(clubId)
+            .map(rollup -> AttendanceSummary.of(rollup.getAttended(), rollup.getNoShows()))
+            .orElse(AttendanceSummary.EMPTY);
+
+        int window = Math.max(1, Math.min(days, MAX_TREND_DAYS));
+        LocalDate to = LocalDate.now();
+        LocalDate from = to.minusDays(window - 1L);
+        Map<LocalDate, ClubAttendanceDailyRollup> byDay = dailyRollupRepository
+            .findByClubIdAndEventDayBetweenOrderByEventDayAsc(clubId, from, to).stream()
+            .collect(Collectors.toMap(ClubAttendanceDailyRollup::getEventDay, Function.identity()));
+
+        // One point per day, so charts need no gap filling
+        List<DailyAttendance> trend = new ArrayList<>(window);
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            ClubAttendanceDailyRollup rollup = byDay.get(day);
+            trend.add(rollup == null
+                ? new DailyAttendance(day, AttendanceSummary.EMPTY)
+                : new DailyAttendance(day, AttendanceSummary.of(rollup.getAttended(), rollup.getNoShows())));
+        }
+
+        return new ClubAttendanceReport(clubId, summary, trend);
+    }
+
+    private void checkCanView(Long clubId, String adminEmail) {
+        User admin = currentUserService.findUserByEmail(adminEmail)
+            .orElseThrow(() -> new RuntimeException("Admin user not found"));
+        if (!currentUserService.managesClub(admin, clubId) && !admin.isSystemAdmin()) {
+            throw new AccessDeniedException("You are not authorized to view attendance for this club");
+        }
+    }
+
+    public record AttendanceSummary(long attended, long noShows, double attendanceRate, double noShowRate) {
+
+        static final AttendanceSummary EMPTY = new AttendanceSummary(0, 0, 0.0, 0.0);
+
+        static AttendanceSummary of(long attended, long noShows) {
+            long settled = attended + noShows;
+            if (settled == 0) {
+                return EMPTY;
+            }
+            return new AttendanceSummary(attended, noShows, (double) attended / settled, (double) noShows / settled);
+        }
+    }
+
+    public record DailyAttendance(LocalDate day, AttendanceSummary attendance) {
+    }
+
+    public record ClubAttendanceReport(Long clubId, AttendanceSummary summary, List<DailyAttendance> trend) {
+    }
+}
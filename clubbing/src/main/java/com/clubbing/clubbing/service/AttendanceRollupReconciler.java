@@ -0,0 +1,28 @@
+package com.clubbing.clubbing.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically recomputes the attendance rollups from the attendance and registration
+ * tables and repairs any drift.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AttendanceRollupReconciler {
+
+    private final AttendanceRollupService attendanceRollupService;
+
+    @Scheduled(fixedDelayString = "${clubbing.attendance.rollup-reconcile-interval-ms:3600000}",
+               initialDelayString = "${clubbing.attendance.rollup-reconcile-initial-delay-ms:3600000}")
+    public void reconcileRollups() {
+        try {
+            attendanceRollupService.reconcileRollups();
+        } catch (RuntimeException e) {
+            log.error("Attendance rollup reconciliation failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.clubbing.clubbing.service;
+
+import com.clubbing.clubbing.model.ClubAttendanceDailyRollup;
+import com.clubbing.clubbing.model.ClubAttendanceRollup;
+import com.clubbing.clubbing.model.Event;
+import com.clubbing.clubbing.model.EventAttendanceRollup;
+import com.clubbing.clubbing.model.RegistrationStatus;
+import com.clubbing.clubbing.repository.ClubAttendanceDailyRollupRepository;
+import com.clubbing.clubbing.repository.ClubAttendanceRollupRepository;
+import com.clubbing.clubbing.repository.EventAttendanceRepository;
+import com.clubbing.clubbing.repository.EventAttendanceRollupRepository;
+import com.clubbing.clubbing.repository.EventRegistrationRepository;
+import com.clubbing.clubbing.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Maintains the attendance rollups (per event, per club and per club and day).
+ * Check-ins and no-shows are added with atomic increments in the transaction that
+ * records them, and a deleted user's share is subtracted the same way, so reads never
+ * aggregate raw attendance rows. Changes that bypass the increments (a rescheduled event)
+ * are repaired by {@link #reconcileRollups()}, which also backfills the rollups from existing data.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class AttendanceRollupService {
+
+    private final EventAttendanceRollupRepository eventRollupRepository;
+    private final ClubAttendanceRollupRepository clubRollupRepository;
+    private final ClubAttendanceDailyRollupRepository dailyRollupRepository;
+    private final EventRepository eventRepository;
+    private final EventAttendanceRepository attendanceRepository;
+    private final EventRegistrationRepository registrationRepository;
+
+    /**
+     * Create the rollup rows an event's check-ins will be added to, if missing
+     */
+    public void ensureRollups(Event event) {
+        ensureRollups(event.getId(), event.getClub().getId(), event.getEventDate().toLocalDate());
+    }
+
+    /**
+     * Add check-ins and no-shows of one event to its event, club and daily rollups
+     */
+    public void recordAttendance(Event event, long attended, long noShows) {
+        recordAttendance(event.getId(), event.getClub().getId(), event.getEventDate().toLocalDate(), attended, noShows);
+    }
+
+    /**
+     * Add the no-shows about to be marked by a lifecycle run, given as
+     * [eventId, clubId, eventDate, count] rows
+     */
+    public void recordNoShows(List<Object[]> noShowsByEvent) {
+        for (Object[] row : noShowsByEvent) {
+            recordAttendance((Long) row[0], (Long) row[1], ((LocalDateTime) row[2]).toLocalDate(), 0, (Long) row[3]);
+        }
+    }
+
+    /**
+     * Take a deleted user's check-ins and no-shows back out of the rollups, given as
+     * [eventId, clubId, eventDate] rows, one per event
+     */
+    public void removeUserAttendance(List<Object[]> attendedEvents, List<Object[]> noShowEvents) {
+        for (Object[] row : attendedEvents) {
+            subtractAttendance((Long) row[0], (Long) row[1], ((LocalDateTime) row[2]).toLocalDate(), 1, 0);
+        }
+        for (Object[] row : noShowEvents) {
+            subtractAttendance((Long) row[0], (Long) row[1], ((LocalDateTime) row[2]).toLocalDate(), 0, 1);
+        }
+    }
+
+    /**
+     * Drop the rollup of a deleted event; only events without registrations can be deleted, so
+     * the club and daily totals are unaffected
+     */
+    public void removeEvent(Long eventId) {
+        if (eventRollupRepository.existsById(eventId)) {
+            eventRollupRepository.deleteById(eventId);
+        }
+    }
+
+    /**
+     * Recompute all rollups from the attendance and registration tables and correct the rows
+     * that drifted or are missing; a row that changed meanwhile is left for the next run
+     */
+    public int reconcileRollups() {
+        log.debug("Reconciling attendance rollups...");
+
+        // Stored rollups are read before the real counts: a check-in landing in between then
+        // changes the stored row, so its compare-and-set below misses instead of undoing it
+        Map<Long, long[]> storedByEvent = new HashMap<>();
+        eventRollupRepository.findAll().forEach(rollup ->
+            storedByEvent.put(rollup.getEventId(), new long[]{rollup.getAttended(), rollup.getNoShows()}));
+        Map<Long, long[]> storedByClub = new HashMap<>();
+        clubRollupRepository.findAll().forEach(rollup ->
+            storedByClub.put(rollup.getClubId(), new long[]{rollup.getAttended(), rollup.getNoShows()}));
+        Map<ClubDay, long[]> storedByDay = new HashMap<>();
+        Map<ClubDay, Long> dayRowIds = new HashMap<>();
+        dailyRollupRepository.findAll().forEach(rollup -> {
+            ClubDay clubDay = new ClubDay(rollup.getClubId(), rollup.getEventDay());
+            storedByDay.put(clubDay, new long[]{rollup.getAttended(), rollup.getNoShows()});
+            dayRowIds.put(clubDay, rollup.getId());
+        });
+
+        Map<Long, long[]> actualByEvent = new HashMap<>();
+        for (Object[] row : attendanceRepository.countAttendedGroupByEvent()) {
+            actualByEvent.computeIfAbsent((Long) row[0], id -> new long[2])[0] = (Long) row[1];
+        }
+        for (Object[] row : registrationRepository.countByStatusGroupByEvent(RegistrationStatus.NO_SHOW)) {
+            actualByEvent.computeIfAbsent((Long) row[0], id -> new long[2])[1] = (Long) row[1];
+        }
+
+        Map<Long, Long> clubByEvent = new HashMap<>();
+        Map<Long, long[]> actualByClub = new HashMap<>();
+        Map<ClubDay, long[]> actualByDay = new HashMap<>();
+        for (Object[] row : eventRepository.findAllClubIdsAndDates()) {
+            Long eventId = (Long) row[0];
+            Long clubId = (Long) row[1];
+            ClubDay clubDay = new ClubDay(clubId, ((LocalDateTime) row[2]).toLocalDate());
+            long[] actual = actualByEvent.computeIfAbsent(eventId, id -> new long[2]);
+
+            clubByEvent.put(eventId, clubId);
+            add(actualByClub.computeIfAbsent(clubId, id -> new long[2]), actual);
+            add(actualByDay.computeIfAbsent(clubDay, day -> new long[2]), actual);
+        }
+        actualByEvent.keySet().retainAll(clubByEvent.keySet());
+
+        int corrected = 0;
+        corrected += reconcileTable(actualByEvent, storedByEvent,
+            (eventId, actual) -> eventRollupRepository.save(EventAttendanceRollup.builder()
+                .eventId(eventId).clubId(clubByEvent.get(eventId)).attended(actual[0]).noShows(actual[1]).build()),
+            (eventId, stored, actual) -> eventRollupRepository.reconcile(eventId, stored[0], stored[1], actual[0], actual[1]),
+            eventRollupRepository::deleteById);
+
+        corrected += reconcileTable(actualByClub, storedByClub,
+            (clubId, actual) -> clubRollupRepository.save(ClubAttendanceRollup.builder()
+                .clubId(clubId).attended(actual[0]).noShows(actual[1]).build()),
+            (clubId, stored, actual) -> clubRollupRepository.reconcile(clubId, stored[0], stored[1], actual[0], actual[1]),
+            clubRollupRepository::deleteById);
+
+        corrected += reconcileTable(actualByDay, storedByDay,
+            (clubDay, actual) -> dailyRollupRepository.save(ClubAttendanceDailyRollup.builder()
+                .clubId(clubDay.clubId()).eventDay(clubDay.day()).attended(actual[0]).noShows(actual[1]).build()),
+            (clubDay, stored, actual) -> dailyRollupRepository.reconcile(dayRowIds.get(clubDay),
+                stored[0], stored[1], actual[0], actual[1]),
+            clubDay -> dailyRollupRepository.deleteById(dayRowIds.get(clubDay)));
+
+        log.info("Attendance rollup reconciliation completed. Corrected {} rows.", corrected);
+        return corrected;
+    }
+
+    private void recordAttendance(Long eventId, Long clubId, LocalDate day, long attended, long noShows) {
+        if (attended == 0 && noShows == 0) {
+            return;
+        }
+        // Rows are normally created with the event; a missing row (an event that predates the
+        // rollups, or a rescheduled one) starts from this change and is completed by reconciliation
+        if (eventRollupRepository.addAttendance(eventId, attended, noShows) == 0) {
+            eventRollupRepository.save(EventAttendanceRollup.builder()
+                .eventId(eventId).clubId(clubId).attended(attended).noShows(noShows).build());
+        }
+        if (clubRollupRepository.addAttendance(clubId, attended, noShows) == 0) {
+            clubRollupRepository.save(ClubAttendanceRollup.builder()
+                .clubId(clubId).attended(attended).noShows(noShows).build());
+        }
+        if (dailyRollupRepository.addAttendance(clubId, day, attended, noShows) == 0) {
+            dailyRollupRepository.save(ClubAttendanceDailyRollup.builder()
+                .clubId(clubId).eventDay(day).attended(attended).noShows(noShows).build());
+        }
+    }
+
+    private void subtractAttendance(Long eventId, Long clubId, LocalDate day, long attended, long noShows) {
+        // A missing row is left for reconciliation to build rather than created with negative totals
+        eventRollupRepository.addAttendance(eventId, -attended, -noShows);
+        clubRollupRepository.addAttendance(clubId, -attended, -noShows);
+        dailyRollupRepository.addAttendance(clubId, day, -attended, -noShows);
+    }
+
+    private void ensureRollups(Long eventId, Long clubId, LocalDate day) {
+        if (!eventRollupRepository.existsById(eventId)) {
+            eventRollupRepository.save(EventAttendanceRollup.builder().eventId(eventId).clubId(clubId).build());
+        }
+        if (!clubRollupRepository.existsById(clubId)) {
+            clubRollupRepository.save(ClubAttendanceRollup.builder().clubId(clubId).build());
+        }
+        if (!dailyRollupRepository.existsByClubIdAndEventDay(clubId, day)) {
+            dailyRollupRepository.save(ClubAttendanceDailyRollup.builder().clubId(clubId).eventDay(day).build());
+        }
+    }
+
+    /**
+     * Bring one rollup table in line with the recomputed totals; returns the number of rows changed
+     */
+    private <K> int reconcileTable(Map<K, long[]> actualByKey, Map<K, long[]> storedByKey,
+                                   BiConsumer<K, long[]> insert,
+                                   CompareAndSet<K> update,
+                                   Consumer<K> delete) {
+        int changed = 0;
+        for (Map.Entry<K, long[]> entry : actualByKey.entrySet()) {
+            long[] actual = entry.getValue();
+            long[] stored = storedByKey.remove(entry.getKey());
+            if (stored == null) {
+                insert.accept(entry.getKey(), actual);
+                changed++;
+            } else if ((stored[0] != actual[0] || stored[1] != actual[1])
+                    && update.apply(entry.getKey(), stored, actual) > 0) {
+                changed++;
+                log.debug("Corrected attendance rollup {}: {}/{} -> {}/{}",
+                    entry.getKey(), stored[0], stored[1], actual[0], actual[1]);
+            }
+        }
+        // Whatever is left belongs to events or clubs that no longer exist
+        for (K key : storedByKey.keySet()) {
+            delete.accept(key);
+            changed++;
+        }
+        return changed;
+    }
+
+    private static void add(long[] totals, long[] values) {
+        totals[0] += values[0];
+        totals[1] += values[1];
+    }
+
+    private record ClubDay(Long clubId, LocalDate day) {
+    }
+
+    @FunctionalInterface
+    private interface CompareAndSet<K> {
+        int apply(K key, long[] expected, long[] actual);
+    }
+}
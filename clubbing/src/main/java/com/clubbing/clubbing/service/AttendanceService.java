@@ -0,0 +1,340 @@
+package com.clubbing.clubbing.service;
+
+import com.clubbing.clubbing.dto.BatchCheckInDto;
+import com.clubbing.clubbing.dto.BatchCheckInResultDto;
+import com.clubbing.clubbing.dto.KioskCheckInSyncDto;
+import com.clubbing.clubbing.model.Event;
+import com.clubbing.clubbing.model.EventStatus;
+import com.clubbing.clubbing.model.RegistrationStatus;
+import com.clubbing.clubbing.model.User;
+import com.clubbing.clubbing.repository.EventAttendanceRepository;
+import com.clubbing.clubbing.repository.EventRegistrationRepository;
+import com.clubbing.clubbing.repository.EventRepository;
+import com.clubbing.clubbing.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Event attendance (check-in) service.
+ * Check-ins are processed per batch: existing attendance rows are flipped and missing
+ * rows are inserted through JDBC batches and the event's
+ * attendance counter is adjusted once for the whole batch. Users that are already
+ * checked in are skipped, so scanners can safely resend a batch. Kiosk uploads may
+ * arrive after the lifecycle run, so they also turn no-shows back into attendance.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class AttendanceService {
+
+    private static final int JDBC_BATCH_SIZE = 100;
+
+    private static final String INSERT_ATTENDANCE_SQL =
+        "INSERT INTO event_attendance (event_id, user_id, attended, check_in_time, marked_by, created_at, updated_at) " +
+        "VALUES (?, ?, TRUE, ?, ?, ?, ?)";
+
+    private static final String MARK_ATTENDED_SQL =
+        "UPDATE event_attendance SET attended = TRUE, check_in_time = ?, marked_by = ?, updated_at = ? " +
+        "WHERE event_id = ? AND user_id = ? AND attended = FALSE";
+
+    private static final String BACKDATE_CHECK_IN_SQL =
+        "UPDATE event_attendance SET check_in_time = ? " +
+        "WHERE event_id = ? AND user_id = ? AND attended = TRUE AND (check_in_time IS NULL OR check_in_time > ?)";
+
+    private final EventRepository eventRepository;
+    private final EventAttendanceRepository attendanceRepository;
+    private final EventRegistrationRepository registrationRepository;
+    private final UserRepository userRepository;
+    private final CurrentUserService currentUserService;
+    private final TicketService ticketService;
+    private final JdbcTemplate jdbcTemplate;
+    private final AttendanceRollupService attendanceRollupService;
+
+    /**
+     * Check in a batch of registered users (Club Admin)
+     */
+    public BatchCheckInResultDto batchCheckIn(Long eventId, BatchCheckInDto request, String staffEmail) {
+        User staff = currentUserService.findUserByEmail(staffEmail)
+            .orElseThrow(() -> new RuntimeException("Current user not found"));
+
+        Event event = eventRepository.findById(eventId)
+            .orElseThrow(() -> new RuntimeException("Event not found"));
+
+        if (!currentUserService.managesClub(staff, event.getClub().getId()) && !staff.isSystemAdmin()) {
+            throw new AccessDeniedException("You are not authorized to check in attendees for this event");
+        }
+        requireCheckInOpen(event);
+
+        List<String> rejected = new ArrayList<>();
+        Set<Long> userIds = resolveUserIds(request, rejected);
+        int requested = userIds.size() + rejected.size();
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, LocalDateTime> checkIns = new LinkedHashMap<>();
+        userIds.forEach(userId -> checkIns.put(userId, now));
+
+        BatchCheckInResultDto result = checkInUsers(event, checkIns, staff, rejected, false);
+        result.setRequested(requested);
+
+        log.info("Batch check-in for event {}: {} checked in, {} already checked in, {} rejected",
+            eventId, result.getCheckedIn(), result.getAlreadyCheckedIn(), result.getRejected().size());
+
+        return result;
+    }
+
+    /**
+     * Apply check-ins collected offline by a door kiosk (Club Admin); safe to re-upload
+     */
+    public BatchCheckInResultDto syncKioskCheckIns(Long eventId, KioskCheckInSyncDto request, String staffEmail) {
+        User staff = currentUserService.findUserByEmail(staffEmail)
+            .orElseThrow(() -> new RuntimeException("Current user not found"));
+
+        Event event = eventRepository.findById(eventId)
+            .orElseThrow(() -> new RuntimeException("Event not found"));
+
+        if (!currentUserService.managesClub(staff, event.getClub().getId()) && !staff.isSystemAdmin()) {
+            throw new AccessDeniedException("You are not authorized to check in attendees for this event");
+        }
+        requireCheckInOpen(event);
+
+        // Signatures are verified in memory; the earliest scan wins when a ticket was scanned twice.
+        // Kiosk clocks are not trusted outside the event day up to now; such scans take the server time
+        List<String> rejected = new ArrayList<>();
+        Map<Long, LocalDateTime> checkIns = new LinkedHashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime earliestScan = event.getEventDate().toLocalDate().atStartOfDay();
+        List<KioskCheckInSyncDto.ScannedTicket> scans = request.getCheckIns() != null
+            ? request.getCheckIns()
+            : Collections.emptyList();
+        for (int i = 0; i < scans.size(); i++) {
+            KioskCheckInSyncDto.ScannedTicket scan = scans.get(i);
+            Optional<TicketService.TicketClaims> claims = ticketService.verifyTicket(scan.getToken());
+            if (claims.isEmpty() || !eventId.equals(claims.get().eventId())) {
+                rejected.add("ticket #" + (i + 1));
+                continue;
+            }
+
+            LocalDateTime scannedAt = scan.getScannedAt() != null
+                    && !scan.getScannedAt().isBefore(earliestScan) && scan.getScannedAt().isBefore(now)
+                ? scan.getScannedAt()
+                : now;
+            checkIns.merge(claims.get().userId(), scannedAt, (a, b) -> a.isBefore(b) ? a : b);
+        }
+
+        // The upload may arrive after the lifecycle run marked these attendees as no-shows
+        BatchCheckInResultDto result = checkInUsers(event, checkIns, staff, rejected, true);
+        result.setRequested(scans.size());
+
+        log.info("Kiosk {} synced {} scans for event {}: {} checked in, {} already checked in, {} rejected",
+            request.getKioskId(), scans.size(), eventId, result.getCheckedIn(),
+            result.getAlreadyCheckedIn(), result.getRejected().size());
+
+        return result;
+    }
+
+    /**
+     * Check in already-resolved users with their check-in times; shared by the scanner and kiosk paths.
+     * With {@code acceptNoShows}, registrations already marked as no-shows are turned into attendance
+     * and taken back out of the no-show rollups
+     */
+    BatchCheckInResultDto checkInUsers(Event event, Map<Long, LocalDateTime> checkIns, User staff,
+                                       List<String> rejected, boolean acceptNoShows) {
+        Long eventId = event.getId();
+        Set<Long> userIds = checkIns.keySet();
+        LocalDateTime batchTime = LocalDateTime.now();
+        Set<Long> eligible = new HashSet<>();
+        List<Long> noShows = new ArrayList<>();
+        if (!userIds.isEmpty()) {
+            for (Object[] row : registrationRepository.findCheckInStatuses(eventId, userIds)) {
+                Long userId = (Long) row[0];
+                if (row[1] != RegistrationStatus.NO_SHOW) {
+                    eligible.add(userId);
+                } else if (acceptNoShows) {
+                    eligible.add(userId);
+                    noShows.add(userId);
+                }
+            }
+        }
+
+        for (Long userId : userIds) {
+            if (!eligible.contains(userId)) {
+                rejected.add(String.valueOf(userId));
+            }
+        }
+
+        List<Long> toUpdate = new ArrayList<>();
+        List<Long> toBackdate = new ArrayList<>();
+        Set<Long> toInsert = new LinkedHashSet<>(eligible);
+        int alreadyCheckedIn = 0;
+        if (!eligible.isEmpty()) {
+            for (Object[] row : attendanceRepository.findAttendanceStateByEventAndUsers(eventId, eligible)) {
+                Long userId = (Long) row[0];
+                toInsert.remove(userId);
+                if (Boolean.TRUE.equals(row[1])) {
+                    alreadyCheckedIn++;
+                    if (row[2] == null || checkIns.get(userId).isBefore((LocalDateTime) row[2])) {
+                        toBackdate.add(userId);
+                    }
+                } else {
+                    toUpdate.add(userId);
+                }
+            }
+        }
+
+        int checkedIn = 0;
+        if (!toUpdate.isEmpty()) {
+            checkedIn += markAttended(eventId, toUpdate, checkIns, staff.getId(), batchTime);
+        }
+        if (!toBackdate.isEmpty()) {
+            backdateCheckIns(eventId, toBackdate, checkIns);
+        }
+        if (!toInsert.isEmpty()) {
+            checkedIn += insertAttendance(eventId, toInsert, checkIns, staff.getId(), batchTime);
+        }
+
+        if (checkedIn > 0) {
+            List<Long> newlyCheckedIn = new ArrayList<>(toUpdate);
+            newlyCheckedIn.addAll(toInsert);
+            registrationRepository.updateStatusByEventAndUsers(
+                eventId, newlyCheckedIn, RegistrationStatus.REGISTERED, RegistrationStatus.ATTENDED);
+            noShows.retainAll(newlyCheckedIn);
+            int revokedNoShows = noShows.isEmpty() ? 0 : registrationRepository.updateStatusByEventAndUsers(
+                eventId, noShows, RegistrationStatus.NO_SHOW, RegistrationStatus.ATTENDED);
+            eventRepository.incrementAttendanceCount(eventId, checkedIn);
+            attendanceRollupService.recordAttendance(event, checkedIn, -revokedNoShows);
+        }
+
+        return BatchCheckInResultDto.builder()
+            .eventId(eventId)
+            .requested(userIds.size())
+            .checkedIn(checkedIn)
+            .alreadyCheckedIn(alreadyCheckedIn)
+            .rejected(rejected)
+            .attendanceCount((event.getAttendanceCount() == null ? 0 : event.getAttendanceCount()) + checkedIn)
+            .build();
+    }
+
+    /**
+     * Check-in is open for published (or just completed) events from the day of the event,
+     * for live scans and kiosk uploads alike
+     */
+    private void requireCheckInOpen(Event event) {
+        if (event.getStatus() != EventStatus.PUBLISHED && event.getStatus() != EventStatus.COMPLETED) {
+            throw new IllegalArgumentException("Check-in is not available for "
+                + event.getStatus().getDisplayName().toLowerCase() + " events");
+        }
+        if (event.getEventDate().toLocalDate().isAfter(LocalDate.now())) {
+            throw new IllegalArgumentException("Check-in opens on the day of the event");
+        }
+    }
+
+    /**
+     * Flip existing not-attended rows to attended through a JDBC batch, each with its own check-in time
+     */
+    private int markAttended(Long eventId, Collection<Long> userIds, Map<Long, LocalDateTime> checkIns,
+                             Long markedById, LocalDateTime batchTime) {
+        Timestamp updatedAt = Timestamp.valueOf(batchTime);
+        int[][] counts = jdbcTemplate.batchUpdate(MARK_ATTENDED_SQL, userIds, JDBC_BATCH_SIZE, (ps, userId) -> {
+            ps.setTimestamp(1, Timestamp.valueOf(checkIns.getOrDefault(userId, batchTime)));
+            ps.setLong(2, markedById);
+            ps.setTimestamp(3, updatedAt);
+            ps.setLong(4, eventId);
+            ps.setLong(5, userId);
+        });
+        return sumUpdateCounts(counts);
+    }
+
+    /**
+     * Move existing check-ins back to earlier scans (e.g. a kiosk upload arriving after a live scan)
+     */
+    private void backdateCheckIns(Long eventId, Collection<Long> userIds, Map<Long, LocalDateTime> checkIns) {
+        jdbcTemplate.batchUpdate(BACKDATE_CHECK_IN_SQL, userIds, JDBC_BATCH_SIZE, (ps, userId) -> {
+            Timestamp checkInTime = Timestamp.valueOf(checkIns.get(userId));
+            ps.setTimestamp(1, checkInTime);
+            ps.setLong(2, eventId);
+            ps.setLong(3, userId);
+            ps.setTimestamp(4, checkInTime);
+        });
+    }
+
+    /**
+     * Total rows changed by a JDBC batch; drivers that cannot tell per statement count each as one
+     */
+    private static int sumUpdateCounts(int[][] counts) {
+        int total = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                total += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Insert attendance rows through a JDBC batch (IDENTITY ids prevent Hibernate insert batching)
+     */
+    private int insertAttendance(Long eventId, Collection<Long> userIds, Map<Long, LocalDateTime> checkIns,
+                                 Long markedById, LocalDateTime batchTime) {
+        Timestamp createdAt = Timestamp.valueOf(batchTime);
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_ATTENDANCE_SQL, userIds, JDBC_BATCH_SIZE, (ps, userId) -> {
+            ps.setLong(1, eventId);
+            ps.setLong(2, userId);
+            ps.setTimestamp(3, Timestamp.valueOf(checkIns.getOrDefault(userId, batchTime)));
+            ps.setLong(4, markedById);
+            ps.setTimestamp(5, createdAt);
+            ps.setTimestamp(6, createdAt);
+        });
+        return Arrays.stream(counts).mapToInt(batch -> batch.length).sum();
+    }
+
+    /**
+     * Resolve user IDs and student IDs of a request to a de-duplicated set of user ids
+     */
+    private Set<Long> resolveUserIds(BatchCheckInDto request, List<String> rejected) {
+        Set<Long> userIds = new LinkedHashSet<>();
+        if (request.getUserIds() != null) {
+            request.getUserIds().stream().filter(Objects::nonNull).forEach(userIds::add);
+        }
+
+        if (request.getStudentIds() != null && !request.getStudentIds().isEmpty()) {
+            Set<String> studentIds = new LinkedHashSet<>();
+            request.getStudentIds().stream()
+                .filter(id -> id != null && !id.isBlank())
+                .map(String::trim)
+                .forEach(studentIds::add);
+
+            Set<String> resolved = new HashSet<>();
+            if (!studentIds.isEmpty()) {
+                for (Object[] row : userRepository.findIdsByStudentIds(studentIds)) {
+                    userIds.add((Long) row[0]);
+                    resolved.add((String) row[1]);
+                }
+            }
+            studentIds.stream().filter(id -> !resolved.contains(id)).forEach(rejected::add);
+        }
+
+        return userIds;
+    }
+}
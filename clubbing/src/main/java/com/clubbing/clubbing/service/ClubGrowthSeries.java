@@ -0,0 +1,124 @@
+package com.clubbing.clubbing.service;
+
+import java.util.Arrays;
+
+/**
+ * Daily growth counters of one club, kept in parallel primitive arrays indexed by the
+ * number of days since the first recorded day. {@code members} holds the end-of-day
+ * member level, the other arrays the number of events on that day. Days after the last
+ * recorded one carry the last level forward, so the arrays only grow when something
+ * happens. Not thread-safe on its own; {@link ClubGrowthService} synchronizes on it.
+ */
+final class ClubGrowthSeries {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long firstDay;
+    private int length;
+    private int[] members = new int[INITIAL_CAPACITY];
+    private int[] joinRequests = new int[INITIAL_CAPACITY];
+    private int[] joins = new int[INITIAL_CAPACITY];
+    private int[] churn = new int[INITIAL_CAPACITY];
+
+    ClubGrowthSeries(long firstDay) {
+        this.firstDay = firstDay;
+    }
+
+    /**
+     * Add events on an epoch day; joins raise and churn lowers the member level from that day on
+     */
+    void record(long day, int requestCount, int joinCount, int churnCount) {
+        if (day < firstDay) {
+            shiftStart(day);
+        }
+        int index = extendTo(day);
+        joinRequests[index] += requestCount;
+        joins[index] += joinCount;
+        churn[index] += churnCount;
+
+        // Events are almost always recorded on the last day, making this a single write
+        int levelChange = joinCount - churnCount;
+        if (levelChange != 0) {
+            for (int i = index; i < length; i++) {
+                members[i] += levelChange;
+            }
+        }
+    }
+
+    /**
+     * Fill the output arrays with one point per bucket of {@code bucketDays} days starting
+     * at {@code fromDay}: the member level at the end of the bucket and the event sums
+     */
+    void read(long fromDay, long toDay, int bucketDays,
+              int[] memberOut, int[] requestOut, int[] joinOut, int[] churnOut) {
+        long lastDay = firstDay + length - 1;
+        for (int point = 0; point < memberOut.length; point++) {
+            long bucketStart = fromDay + (long) point * bucketDays;
+            long bucketEnd = Math.min(bucketStart + bucketDays - 1, toDay);
+            memberOut[point] = levelAt(bucketEnd);
+
+            long start = Math.max(bucketStart, firstDay);
+            long end = Math.min(bucketEnd, lastDay);
+            for (long day = start; day <= end; day++) {
+                int index = (int) (day - firstDay);
+                requestOut[point] += joinRequests[index];
+                joinOut[point] += joins[index];
+                churnOut[point] += churn[index];
+            }
+        }
+    }
+
+    private int levelAt(long day) {
+        if (length == 0 || day < firstDay) {
+            return 0;
+        }
+        long index = day - firstDay;
+        return members[(int) Math.min(index, length - 1)];
+    }
+
+    /**
+     * Make the arrays cover the day, carrying the last member level forward; returns its index
+     */
+    private int extendTo(long day) {
+        int index = Math.toIntExact(day - firstDay);
+        if (index >= length) {
+            ensureCapacity(index + 1);
+            int carried = length > 0 ? members[length - 1] : 0;
+            Arrays.fill(members, length, index + 1, carried);
+            length = index + 1;
+        }
+        return index;
+    }
+
+    /**
+     * Move the first day back; only happens if an event predates everything recorded so far
+     */
+    private void shiftStart(long day) {
+        int shift = Math.toIntExact(firstDay - day);
+        ensureCapacity(length + shift);
+        members = shifted(members, shift);
+        joinRequests = shifted(joinRequests, shift);
+        joins = shifted(joins, shift);
+        churn = shifted(churn, shift);
+        firstDay = day;
+        if (length > 0) {
+            length += shift;
+        }
+    }
+
+    private int[] shifted(int[] values, int shift) {
+        int[] result = new int[values.length];
+        System.arraycopy(values, 0, result, shift, length);
+        return result;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > members.length) {
+            int newCapacity = Math.max(capacity, members.length * 2);
+            members = Arrays.copyOf(members, newCapacity);
+            joinRequests = Arrays.copyOf(joinRequests, newCapacity);
+            joins = Arrays.copyOf(joins, newCapacity);
+            churn = Arrays.copyOf(churn, newCapacity);
+        }
+    }
+}
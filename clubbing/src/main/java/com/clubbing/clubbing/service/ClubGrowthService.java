@@ -0,0 +1,258 @@
+package com.clubbing.clubbing.service;
+
+import com.clubbing.clubbing.model.MembershipStatus;
+import com.clubbing.clubbing.model.User;
+import com.clubbing.clubbing.repository.ClubMembershipRepository;
+import com.clubbing.clubbing.repository.ClubRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory daily time series of club growth: member level, join requests, joins and
+ * churn (members who left or were removed) per club and day.
+ * The series are built from the membership timestamps on startup and then updated after
+ * each committed membership change, so charting a club's history never reads
+ * club_memberships. Users deleted since startup drop out of the rebuilt history.
+ * Changes that arrive while the series are rebuilt are replayed onto the new ones.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ClubGrowthService {
+
+    // Longest window served to the club-admin pages, and the most points returned for any read
+    private static final int MAX_DAYS = 3660;
+    private static final int MAX_POINTS = 400;
+
+    private final ClubMembershipRepository membershipRepository;
+    private final ClubRepository clubRepository;
+    private final CurrentUserService currentUserService;
+
+    // Recording takes the read lock; starting and finishing a rebuild take the write lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock rebuildLock = new ReentrantLock();
+    private volatile Map<Long, ClubGrowthSeries> seriesByClub = new ConcurrentHashMap<>();
+    // Changes recorded while a rebuild reads the table, in order; null when no rebuild runs
+    private Queue<GrowthEvent> changesDuringRebuild;
+
+    /**
+     * Build every club's series from the membership timestamps once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = new ConcurrentLinkedQueue<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            Map<Long, ClubGrowthSeries> rebuilt = null;
+            try {
+                rebuilt = buildSeries();
+            } finally {
+                swapIn(rebuilt);
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Build every club's series from the membership timestamps
+     */
+    private Map<Long, ClubGrowthSeries> buildSeries() {
+        List<GrowthEvent> events = new ArrayList<>();
+        for (Object[] row : membershipRepository.findGrowthTimeline()) {
+            Long clubId = (Long) row[0];
+            MembershipStatus status = (MembershipStatus) row[1];
+            LocalDateTime requestedAt = (LocalDateTime) row[2];
+            LocalDateTime joinedAt = (LocalDateTime) row[3];
+            LocalDateTime processedAt = (LocalDateTime) row[4];
+
+            if (requestedAt != null) {
+                events.add(new GrowthEvent(clubId, epochDay(requestedAt), 1, 0, 0));
+            }
+            if (joinedAt != null) {
+                events.add(new GrowthEvent(clubId, epochDay(joinedAt), 0, 1, 0));
+                if ((status == MembershipStatus.LEFT || status == MembershipStatus.SUSPENDED) && processedAt != null) {
+                    events.add(new GrowthEvent(clubId, epochDay(processedAt), 0, 0, 1));
+                }
+            }
+        }
+
+        // In day order every event lands on the last day of its series, keeping the build linear
+        events.sort(Comparator.comparingLong(GrowthEvent::day));
+        Map<Long, ClubGrowthSeries> rebuilt = new ConcurrentHashMap<>();
+        for (GrowthEvent event : events) {
+            rebuilt.computeIfAbsent(event.clubId(), clubId -> new ClubGrowthSeries(event.day()))
+                .record(event.day(), event.joinRequests(), event.joins(), event.churn());
+        }
+
+        log.info("Club growth series built: {} clubs from {} membership events", rebuilt.size(), events.size());
+        return rebuilt;
+    }
+
+    /**
+     * Replace the series by rebuilt ones, replaying the changes recorded while they were read.
+     * Only a change whose transaction committed just before the read but whose after-commit
+     * callback ran once the rebuild had started can be counted twice.
+     */
+    private void swapIn(Map<Long, ClubGrowthSeries> rebuilt) {
+        lock.writeLock().lock();
+        try {
+            if (rebuilt != null) {
+                for (GrowthEvent change : changesDuringRebuild) {
+                    rebuilt.computeIfAbsent(change.clubId(), clubId -> new ClubGrowthSeries(change.day()))
+                        .record(change.day(), change.joinRequests(), change.joins(), change.churn());
+                }
+                seriesByClub = rebuilt;
+            }
+            changesDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Count join requests for today once the current transaction commits
+     */
+    public void recordJoinRequests(Long clubId, int count) {
+        afterCommit(() -> record(clubId, count, 0, 0));
+    }
+
+    /**
+     * Count new members for today once the current transaction commits
+     */
+    public void recordJoins(Long clubId, int count) {
+        afterCommit(() -> record(clubId, 0, count, 0));
+    }
+
+    /**
+     * Count members who left or were removed today once the current transaction commits
+     */
+    public void recordChurn(Long clubId, int count) {
+        afterCommit(() -> record(clubId, 0, 0, count));
+    }
+
+    /**
+     * Growth of a club over the last days, one point per bucket of days (Club Admin)
+     */
+    @Transactional(readOnly = true)
+    public ClubGrowth getClubGrowth(Long clubId, int days, int bucketDays, String adminEmail) {
+        if (!clubRepository.existsById(clubId)) {
+            throw new RuntimeException("Club not found");
+        }
+        User admin = currentUserService.findUserByEmail(adminEmail)
+            .orElseThrow(() -> new RuntimeException("Admin user not found"));
+        if (!currentUserService.managesClub(admin, clubId) && !admin.isSystemAdmin()) {
+            throw new AccessDeniedException("You are not authorized to view growth for this club");
+        }
+
+        int window = Math.max(1, Math.min(days, MAX_DAYS));
+        LocalDate to = LocalDate.now();
+        return downsample(clubId, to.minusDays(window - 1L), to, bucketDays);
+    }
+
+    /**
+     * Daily growth of a club between two days, both included
+     */
+    public ClubGrowth range(Long clubId, LocalDate from, LocalDate to) {
+        return downsample(clubId, from, to, 1);
+    }
+
+    /**
+     * Growth of a club between two days in buckets of days; buckets are widened so that
+     * no read returns more than {@value #MAX_POINTS} points
+     */
+    public ClubGrowth downsample(Long clubId, LocalDate from, LocalDate to, int bucketDays) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("The end of the range is before its start");
+        }
+        long span = ChronoUnit.DAYS.between(from, to) + 1;
+        int bucket = (int) Math.max(Math.max(bucketDays, 1), (span + MAX_POINTS - 1) / MAX_POINTS);
+        int points = (int) ((span + bucket - 1) / bucket);
+
+        int[] members = new int[points];
+        int[] joinRequests = new int[points];
+        int[] joins = new int[points];
+        int[] churn = new int[points];
+        ClubGrowthSeries series = seriesByClub.get(clubId);
+        if (series != null) {
+            synchronized (series) {
+                series.read(from.toEpochDay(), to.toEpochDay(), bucket, members, joinRequests, joins, churn);
+            }
+        }
+
+        return new ClubGrowth(clubId, from, to, bucket, members, joinRequests, joins, churn);
+    }
+
+    private void record(Long clubId, int joinRequests, int joins, int churn) {
+        long today = LocalDate.now().toEpochDay();
+        lock.readLock().lock();
+        try {
+            ClubGrowthSeries series = seriesByClub.computeIfAbsent(clubId, id -> new ClubGrowthSeries(today));
+            synchronized (series) {
+                series.record(today, joinRequests, joins, churn);
+            }
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(new GrowthEvent(clubId, today, joinRequests, joins, churn));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static long epochDay(LocalDateTime time) {
+        return time.toLocalDate().toEpochDay();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Parallel arrays with one value per bucket, the first bucket starting at {@code from};
+     * {@code members} is the member level at the end of each bucket
+     */
+    public record ClubGrowth(Long clubId, LocalDate from, LocalDate to, int bucketDays,
+                             int[] members, int[] joinRequests, int[] joins, int[] churn) {
+    }
+
+    private record GrowthEvent(Long clubId, long day, int joinRequests, int joins, int churn) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.clubbing.clubbing.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically compares club member counters against the membership table and
+ * repairs any drift with a single grouped count.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ClubMemberCountReconciler {
+
+    private final MembershipService membershipService;
+
+    @Scheduled(fixedDelayString = "${clubbing.members.reconcile-interval-ms:3600000}",
+               initialDelayString = "${clubbing.members.reconcile-initial-delay-ms:3600000}")
+    public void reconcileMemberCounts() {
+        try {
+            membershipService.recalculateAllClubMemberCounts();
+        } catch (RuntimeException e) {
+            log.error("Member count reconciliation failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.clubbing.clubbing.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically rebuilds the club recommendation model from the membership table,
+ * dropping any drift left by changes made outside the membership services.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ClubRecommendationRebuilder {
+
+    private final ClubRecommendationService clubRecommendationService;
+
+    @Scheduled(fixedDelayString = "${clubbing.recommendations.rebuild-interval-ms:86400000}",
+               initialDelayString = "${clubbing.recommendations.rebuild-initial-delay-ms:86400000}")
+    public void rebuildRecommendations() {
+        try {
+            clubRecommendationService.rebuild();
+        } catch (RuntimeException e) {
+            log.error("Club recommendation rebuild failed: {}", e.getMessage());
+        }
+    }
+}
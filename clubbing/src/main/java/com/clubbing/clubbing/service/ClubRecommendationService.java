@@ -0,0 +1,170 @@
+package com.clubbing.clubbing.service;
+
+import com.clubbing.clubbing.dto.ClubDto;
+import com.clubbing.clubbing.model.User;
+import com.clubbing.clubbing.repository.ClubMembershipRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * "Students like you also joined" club recommendations.
+ * A {@link ClubSimilarityModel} of approved memberships is built in a parallel batch on
+ * startup (and periodically by {@link ClubRecommendationRebuilder}), then kept current
+ * after each committed join or departure, so recommendations are served from memory.
+ * Changes that arrive while a rebuild reads the table are replayed onto the new model.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ClubRecommendationService {
+
+    private final ClubMembershipRepository membershipRepository;
+    private final ClubService clubService;
+
+    // Ranked clubs are looked up in slices of this many times the requested limit
+    private static final int CANDIDATE_SLICE_FACTOR = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock rebuildLock = new ReentrantLock();
+    private ClubSimilarityModel model = ClubSimilarityModel.build(List.of());
+    // Changes made while a rebuild is reading the table, in order; null when no rebuild runs
+    private List<Consumer<ClubSimilarityModel>> changesDuringRebuild;
+
+    /**
+     * Rebuild the model from all approved memberships
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ClubSimilarityModel rebuilt = null;
+            try {
+                List<Object[]> memberships = membershipRepository.findActiveUserClubPairs();
+                rebuilt = ClubSimilarityModel.build(memberships);
+                log.info("Club recommendation model built: {} students, {} clubs, {} memberships",
+                    rebuilt.userCount(), rebuilt.clubCount(), memberships.size());
+            } finally {
+                swapIn(rebuilt);
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Add a membership to the model once the current transaction commits
+     */
+    public void recordJoin(Long userId, Long clubId) {
+        afterCommit(() -> update(current -> current.addMembership(userId, clubId)));
+    }
+
+    /**
+     * Remove a membership from the model once the current transaction commits
+     */
+    public void recordLeave(Long userId, Long clubId) {
+        afterCommit(() -> update(current -> current.removeMembership(userId, clubId)));
+    }
+
+    /**
+     * Top active clubs for a student, excluding clubs they belong to or asked to join
+     */
+    @Transactional(readOnly = true)
+    public List<ClubDto> recommendClubs(User user, int limit) {
+        long[] ranked;
+        lock.readLock().lock();
+        try {
+            ranked = model.recommend(user.getId());
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (ranked.length == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        Set<Long> pending = new HashSet<>(membershipRepository.findPendingClubIdsByUser(user));
+        List<Long> candidates = new ArrayList<>();
+        for (long clubId : ranked) {
+            if (!pending.contains(clubId)) {
+                candidates.add(clubId);
+            }
+        }
+
+        // Load only the best few candidates; another slice is read only if inactive clubs
+        // left the page short
+        List<ClubDto> recommended = new ArrayList<>(limit);
+        int sliceSize = limit * CANDIDATE_SLICE_FACTOR;
+        for (int from = 0; from < candidates.size() && recommended.size() < limit; from += sliceSize) {
+            List<Long> slice = candidates.subList(from, Math.min(from + sliceSize, candidates.size()));
+            clubService.getActiveClubsByIds(slice).stream()
+                .limit(limit - recommended.size())
+                .forEach(recommended::add);
+        }
+        return recommended;
+    }
+
+    private void update(Consumer<ClubSimilarityModel> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(model);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the model by a rebuilt one, replaying the changes made while it was read;
+     * a change may already be in the table snapshot, but adding or removing a membership
+     * twice has no effect, so the replay cannot double count
+     */
+    private void swapIn(ClubSimilarityModel rebuilt) {
+        lock.writeLock().lock();
+        try {
+            if (rebuilt != null) {
+                changesDuringRebuild.forEach(change -> change.accept(rebuilt));
+                model = rebuilt;
+            }
+            changesDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
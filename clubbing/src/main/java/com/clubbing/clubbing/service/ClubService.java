@@ -3,18 +3,28 @@ package com.clubbing.clubbing.service;
 import com.clubbing.clubbing.dto.ClubCreationDto;
 import com.clubbing.clubbing.dto.ClubDto;
 import com.clubbing.clubbing.dto.ClubUpdateDto;
+import com.clubbing.clubbing.dto.CursorPage;
+import com.clubbing.clubbing.dto.PageCursor;
 import com.clubbing.clubbing.model.Club;
 import com.clubbing.clubbing.model.User;
 import com.clubbing.clubbing.model.UserRole;
 import com.clubbing.clubbing.repository.ClubRepository;
+import com.clubbing.clubbing.repository.EventRepository;
 import com.clubbing.clubbing.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,6 +35,10 @@ public class ClubService {
     
     private final ClubRepository clubRepository;
     private final UserRepository userRepository;
+    private final EventRepository eventRepository;
+    private final SearchIndexService searchIndexService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CurrentUserService currentUserService;
     
     /**
      * Create a new club (System Admin only)
@@ -64,6 +78,8 @@ public class ClubService {
         }
         
         Club savedClub = clubRepository.save(club);
+        searchIndexService.indexClub(savedClub);
+        eventPublisher.publishEvent(DashboardChangedEvent.clubs());
         log.info("Club created successfully with ID: {}", savedClub.getId());
         
         return convertToDto(savedClub);
@@ -84,6 +100,8 @@ public class ClubService {
             throw new IllegalArgumentException("Club with name '" + clubUpdateDto.getName() + "' already exists");
         }
         
+        boolean nameChanged = !club.getName().equals(clubUpdateDto.getName());
+        
         // Update club fields
         club.setName(clubUpdateDto.getName());
         club.setDescription(clubUpdateDto.getDescription());
@@ -108,19 +126,39 @@ public class ClubService {
         }
         
         Club savedClub = clubRepository.save(club);
+        searchIndexService.indexClub(savedClub);
+        eventPublisher.publishEvent(DashboardChangedEvent.clubs());
+        
+        // Events are also found by their club's name
+        if (nameChanged) {
+            searchIndexService.indexEvents(eventRepository.findByClub(savedClub));
+        }
         log.info("Club updated successfully: {}", savedClub.getName());
         
         return convertToDto(savedClub);
     }
     
     /**
-     * Get all clubs (System Admin view)
+     * Get a page of all clubs in creation order (System Admin view)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ClubDto> getClubsPage(String cursor, Integer size) {
+        int pageSize = CursorPage.normalizeSize(size);
+        Long afterId = PageCursor.decode(cursor).map(PageCursor::id).orElse(0L);
+        
+        List<Club> rows = clubRepository.findPageAfter(afterId, PageRequest.of(0, pageSize + 1));
+        Map<Long, List<String>> adminNames = findAdminNames(rows);
+        return CursorPage.of(rows, pageSize, afterId == 0L,
+                club -> PageCursor.encode(club.getId()),
+                club -> convertToDto(club, adminNames.getOrDefault(club.getId(), List.of())));
+    }
+    
+    /**
+     * Get all clubs (System Admin search with no filter)
      */
     @Transactional(readOnly = true)
     public List<ClubDto> getAllClubs() {
-        return clubRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return convertToDtos(clubRepository.findAll());
     }
     
     /**
@@ -128,9 +166,24 @@ public class ClubService {
      */
     @Transactional(readOnly = true)
     public List<ClubDto> getActiveClubs() {
-        return clubRepository.findByIsActiveTrue().stream()
-                .map(this::convertToDto)
+        return convertToDtos(clubRepository.findByIsActiveTrue());
+    }
+    
+    /**
+     * Get the active clubs among the given IDs, in the order given
+     */
+    @Transactional(readOnly = true)
+    public List<ClubDto> getActiveClubsByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Club> clubsById = clubRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Club::getId, Function.identity()));
+        List<Club> clubs = ids.stream()
+                .map(clubsById::get)
+                .filter(club -> club != null && club.isActive())
                 .collect(Collectors.toList());
+        return convertToDtos(clubs);
     }
     
     /**
@@ -138,9 +191,7 @@ public class ClubService {
      */
     @Transactional(readOnly = true)
     public List<ClubDto> getClubsByAdmin(User admin) {
-        return clubRepository.findByAdmin(admin).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return convertToDtos(clubRepository.findByAdmin(admin));
     }
     
     /**
@@ -161,9 +212,15 @@ public class ClubService {
             return getActiveClubs();
         }
         
-        return clubRepository.searchActiveClubs(searchTerm.trim()).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        // Ranked ids come from the in-memory index; only the matching rows are loaded
+        List<Long> clubIds = searchIndexService.searchActiveClubIds(searchTerm.trim());
+        Map<Long, Club> clubsById = clubRepository.findAllById(clubIds).stream()
+                .collect(Collectors.toMap(Club::getId, Function.identity()));
+        
+        return convertToDtos(clubIds.stream()
+                .map(clubsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
     }
     
     /**
@@ -171,10 +228,9 @@ public class ClubService {
      */
     @Transactional(readOnly = true)
     public List<ClubDto> getClubsByCategory(String category) {
-        return clubRepository.findByCategory(category).stream()
+        return convertToDtos(clubRepository.findByCategory(category).stream()
                 .filter(Club::isActive)
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
     
     /**
@@ -195,6 +251,8 @@ public class ClubService {
                 .orElseThrow(() -> new IllegalArgumentException("Club not found with ID: " + id));
         
         clubRepository.delete(club);
+        searchIndexService.removeClub(id);
+        eventPublisher.publishEvent(DashboardChangedEvent.clubs());
         log.info("Club deleted successfully: {}", club.getName());
     }
     
@@ -209,6 +267,8 @@ public class ClubService {
         
         club.setActive(!club.isActive());
         Club savedClub = clubRepository.save(club);
+        searchIndexService.indexClub(savedClub);
+        eventPublisher.publishEvent(DashboardChangedEvent.clubs());
         
         log.info("Club status toggled: {} - Active: {}", savedClub.getName(), savedClub.isActive());
         return convertToDto(savedClub);
@@ -241,14 +301,38 @@ public class ClubService {
         }
         
         if (user.isClubAdmin()) {
-            return clubRepository.findById(clubId)
-                    .map(club -> club.hasAdmin(user))
-                    .orElse(false);
+            return currentUserService.managesClub(user, clubId);
         }
         
         return false;
     }
     
+    /**
+     * Convert a list of clubs to DTOs, loading all admin names with one query
+     */
+    private List<ClubDto> convertToDtos(List<Club> clubs) {
+        Map<Long, List<String>> adminNames = findAdminNames(clubs);
+        return clubs.stream()
+                .map(club -> convertToDto(club, adminNames.getOrDefault(club.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Admin names per club id for a set of clubs
+     */
+    private Map<Long, List<String>> findAdminNames(List<Club> clubs) {
+        if (clubs.isEmpty()) {
+            return Map.of();
+        }
+        
+        List<Long> clubIds = clubs.stream().map(Club::getId).collect(Collectors.toList());
+        Map<Long, List<String>> adminNames = new HashMap<>();
+        for (Object[] row : clubRepository.findAdminNamesByClubIds(clubIds)) {
+            adminNames.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        return adminNames;
+    }
+    
     /**
      * Convert Club entity to DTO
      */
@@ -257,6 +341,13 @@ public class ClubService {
                 .map(User::getName)
                 .collect(Collectors.toList());
         
+        return convertToDto(club, adminNames);
+    }
+    
+    /**
+     * Convert Club entity to DTO with already loaded admin names
+     */
+    private ClubDto convertToDto(Club club, List<String> adminNames) {
         return ClubDto.builder()
                 .id(club.getId())
                 .name(club.getName())
@@ -0,0 +1,337 @@
+package com.clubbing.clubbing.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Item-to-item collaborative filtering model over approved club memberships.
+ * Users and clubs are mapped to dense int indexes. The sparse user-by-club matrix is kept
+ * as one int array of club indexes per user. Clubs are few, so co-membership counts and
+ * cosine similarities are dense club-by-club arrays:
+ * similarity(a, b) = members of both / sqrt(members of a * members of b).
+ * A membership change only rewrites one similarity row and column. Not thread-safe on
+ * its own; {@link ClubRecommendationService} guards it with a read/write lock.
+ */
+final class ClubSimilarityModel {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int[] NO_CLUBS = new int[0];
+
+    private final LongIntIndex userIndex = new LongIntIndex();
+    private final LongIntIndex clubIndex = new LongIntIndex();
+    private long[] clubIds = new long[INITIAL_CAPACITY];
+    private int[][] userClubs = new int[INITIAL_CAPACITY][];
+    private int[] userClubCounts = new int[INITIAL_CAPACITY];
+    private int[] memberCounts = new int[INITIAL_CAPACITY];
+    private int[][] coMembers = new int[INITIAL_CAPACITY][INITIAL_CAPACITY];
+    private float[][] similarity = new float[INITIAL_CAPACITY][INITIAL_CAPACITY];
+
+    /**
+     * Build a model from [userId, clubId] rows; similarity rows are computed in parallel
+     */
+    static ClubSimilarityModel build(List<Object[]> memberships) {
+        ClubSimilarityModel model = new ClubSimilarityModel();
+        for (Object[] row : memberships) {
+            int user = model.userIndex((Long) row[0]);
+            int club = model.clubIndex((Long) row[1]);
+            if (!model.isMember(user, club)) {
+                model.appendClub(user, club);
+                model.memberCounts[club]++;
+            }
+        }
+
+        // Invert the user lists into per-club member lists for the batch pass
+        int clubCount = model.clubIndex.size();
+        int[][] clubMembers = new int[clubCount][];
+        int[] filled = new int[clubCount];
+        for (int club = 0; club < clubCount; club++) {
+            clubMembers[club] = new int[model.memberCounts[club]];
+        }
+        for (int user = 0; user < model.userIndex.size(); user++) {
+            for (int i = 0; i < model.userClubCounts[user]; i++) {
+                int club = model.userClubs[user][i];
+                clubMembers[club][filled[club]++] = user;
+            }
+        }
+
+        // Each task writes only its own rows, so the clubs can be processed in parallel
+        IntStream.range(0, clubCount).parallel().forEach(club -> {
+            int[] row = model.coMembers[club];
+            for (int user : clubMembers[club]) {
+                for (int i = 0; i < model.userClubCounts[user]; i++) {
+                    int other = model.userClubs[user][i];
+                    if (other != club) {
+                        row[other]++;
+                    }
+                }
+            }
+            for (int other = 0; other < clubCount; other++) {
+                model.similarity[club][other] = model.cosine(club, other);
+            }
+        });
+        return model;
+    }
+
+    int userCount() {
+        return userIndex.size();
+    }
+
+    int clubCount() {
+        return clubIndex.size();
+    }
+
+    /**
+     * Record that a user became a member of a club
+     */
+    void addMembership(long userId, long clubId) {
+        int user = userIndex(userId);
+        int club = clubIndex(clubId);
+        if (isMember(user, club)) {
+            return;
+        }
+        for (int i = 0; i < userClubCounts[user]; i++) {
+            int other = userClubs[user][i];
+            coMembers[club][other]++;
+            coMembers[other][club]++;
+        }
+        appendClub(user, club);
+        memberCounts[club]++;
+        refreshSimilarity(club);
+    }
+
+    /**
+     * Record that a user left or was removed from a club
+     */
+    void removeMembership(long userId, long clubId) {
+        int user = userIndex.get(userId);
+        int club = clubIndex.get(clubId);
+        if (user < 0 || club < 0 || !removeClub(user, club)) {
+            return;
+        }
+        for (int i = 0; i < userClubCounts[user]; i++) {
+            int other = userClubs[user][i];
+            coMembers[club][other]--;
+            coMembers[other][club]--;
+        }
+        memberCounts[club]--;
+        refreshSimilarity(club);
+    }
+
+    /**
+     * Ids of the clubs the user is not in, best first, scored by the summed similarity to
+     * the user's clubs; clubs unrelated to any of them are left out
+     */
+    long[] recommend(long userId) {
+        int user = userIndex.get(userId);
+        if (user < 0 || userClubCounts[user] == 0) {
+            return new long[0];
+        }
+        int clubCount = clubIndex.size();
+        float[] scores = new float[clubCount];
+        for (int i = 0; i < userClubCounts[user]; i++) {
+            float[] row = similarity[userClubs[user][i]];
+            for (int club = 0; club < clubCount; club++) {
+                scores[club] += row[club];
+            }
+        }
+
+        int[] candidates = new int[clubCount];
+        int candidateCount = 0;
+        for (int club = 0; club < clubCount; club++) {
+            if (scores[club] > 0 && !isMember(user, club)) {
+                candidates[candidateCount++] = club;
+            }
+        }
+
+        // Sort by descending score, then by club id for a stable order; candidates are few
+        Integer[] order = new Integer[candidateCount];
+        for (int i = 0; i < candidateCount; i++) {
+            order[i] = candidates[i];
+        }
+        Arrays.sort(order, (a, b) -> scores[a] != scores[b]
+            ? Float.compare(scores[b], scores[a])
+            : Long.compare(clubIds[a], clubIds[b]));
+
+        long[] result = new long[candidateCount];
+        for (int i = 0; i < candidateCount; i++) {
+            result[i] = clubIds[order[i]];
+        }
+        return result;
+    }
+
+    private float cosine(int club, int other) {
+        int shared = coMembers[club][other];
+        if (shared == 0 || club == other) {
+            return 0f;
+        }
+        return (float) (shared / Math.sqrt((double) memberCounts[club] * memberCounts[other]));
+    }
+
+    /**
+     * Recompute a club's similarity row and column after its counts changed
+     */
+    private void refreshSimilarity(int club) {
+        for (int other = 0; other < clubIndex.size(); other++) {
+            float value = cosine(club, other);
+            similarity[club][other] = value;
+            similarity[other][club] = value;
+        }
+    }
+
+    private boolean isMember(int user, int club) {
+        int[] clubs = userClubs[user];
+        for (int i = 0; i < userClubCounts[user]; i++) {
+            if (clubs[i] == club) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void appendClub(int user, int club) {
+        int[] clubs = userClubs[user];
+        int count = userClubCounts[user];
+        if (count == clubs.length) {
+            clubs = Arrays.copyOf(clubs, Math.max(4, count * 2));
+            userClubs[user] = clubs;
+        }
+        clubs[count] = club;
+        userClubCounts[user] = count + 1;
+    }
+
+    private boolean removeClub(int user, int club) {
+        int[] clubs = userClubs[user];
+        int count = userClubCounts[user];
+        for (int i = 0; i < count; i++) {
+            if (clubs[i] == club) {
+                clubs[i] = clubs[count - 1];
+                userClubCounts[user] = count - 1;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int userIndex(long userId) {
+        int user = userIndex.get(userId);
+        if (user >= 0) {
+            return user;
+        }
+        user = userIndex.add(userId);
+        if (user == userClubs.length) {
+            int capacity = user * 2;
+            userClubs = Arrays.copyOf(userClubs, capacity);
+            userClubCounts = Arrays.copyOf(userClubCounts, capacity);
+        }
+        userClubs[user] = NO_CLUBS;
+        return user;
+    }
+
+    private int clubIndex(long clubId) {
+        int club = clubIndex.get(clubId);
+        if (club >= 0) {
+            return club;
+        }
+        club = clubIndex.add(clubId);
+        if (club == clubIds.length) {
+            int capacity = club * 2;
+            clubIds = Arrays.copyOf(clubIds, capacity);
+            memberCounts = Arrays.copyOf(memberCounts, capacity);
+            coMembers = grow(coMembers, capacity);
+            similarity = grow(similarity, capacity);
+        }
+        clubIds[club] = clubId;
+        return club;
+    }
+
+    private static int[][] grow(int[][] matrix, int capacity) {
+        int[][] grown = new int[capacity][];
+        for (int i = 0; i < capacity; i++) {
+            grown[i] = i < matrix.length ? Arrays.copyOf(matrix[i], capacity) : new int[capacity];
+        }
+        return grown;
+    }
+
+    private static float[][] grow(float[][] matrix, int capacity) {
+        float[][] grown = new float[capacity][];
+        for (int i = 0; i < capacity; i++) {
+            grown[i] = i < matrix.length ? Arrays.copyOf(matrix[i], capacity) : new float[capacity];
+        }
+        return grown;
+    }
+
+    /**
+     * Open-addressing map from ids to dense indexes assigned in insertion order
+     */
+    static final class LongIntIndex {
+
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private long[] keys = newKeys(16);
+        private int[] values = new int[16];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * Index of an id, or -1 when it has none
+         */
+        int get(long id) {
+            int mask = keys.length - 1;
+            for (int slot = mix(id) & mask; keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+                if (keys[slot] == id) {
+                    return values[slot];
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Assign the next index to an id that has none yet
+         */
+        int add(long id) {
+            if ((size + 1) * 2 > keys.length) {
+                rehash(keys.length * 2);
+            }
+            int index = size++;
+            insert(id, index);
+            return index;
+        }
+
+        private void insert(long id, int index) {
+            int mask = keys.length - 1;
+            int slot = mix(id) & mask;
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = id;
+            values[slot] = index;
+        }
+
+        private void rehash(int capacity) {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = newKeys(capacity);
+            values = new int[capacity];
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldKeys[slot] != EMPTY) {
+                    insert(oldKeys[slot], oldValues[slot]);
+                }
+            }
+        }
+
+        private static long[] newKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+
+        private static int mix(long id) {
+            long hash = id * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32));
+        }
+    }
+}
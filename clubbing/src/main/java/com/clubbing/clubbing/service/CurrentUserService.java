@@ -0,0 +1,200 @@
+package com.clubbing.clubbing.service;
+
+import com.clubbing.clubbing.dto.CurrentPrincipal;
+import com.clubbing.clubbing.model.User;
+import com.clubbing.clubbing.repository.ClubRepository;
+import com.clubbing.clubbing.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resolves the signed-in user once per request.
+ * The principal (id, role, managed clubs) is kept as a request attribute and in a short-lived
+ * cache keyed by email, so most requests skip the email lookup entirely; the User entity
+ * itself is loaded at most once per request, by primary key. Password, role, status,
+ * profile and club changes evict cached principals once they commit.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CurrentUserService {
+
+    private static final String PRINCIPAL_ATTRIBUTE = CurrentUserService.class.getName() + ".principal";
+    private static final String USER_ATTRIBUTE = CurrentUserService.class.getName() + ".user";
+
+    private final UserRepository userRepository;
+    private final ClubRepository clubRepository;
+    private final LoginUserCache loginUserCache;
+
+    private final Map<String, CachedPrincipal> principalsByEmail = new ConcurrentHashMap<>();
+    // Bumped on every eviction so a principal loaded concurrently with it is not kept
+    private final AtomicLong generation = new AtomicLong();
+
+    @Value("${clubbing.principal.cache-ttl-ms:30000}")
+    private long principalTtlMs;
+
+    /**
+     * The signed-in user's principal; empty for anonymous requests
+     */
+    public Optional<CurrentPrincipal> getCurrentPrincipal() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            CurrentPrincipal resolved = (CurrentPrincipal) request.getAttribute(PRINCIPAL_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (resolved != null) {
+                return Optional.of(resolved);
+            }
+        }
+
+        Optional<String> email = authenticatedEmail();
+        if (email.isEmpty()) {
+            return Optional.empty();
+        }
+
+        CurrentPrincipal principal = cachedPrincipal(email.get());
+        if (principal == null) {
+            Optional<User> user = userRepository.findByEmail(email.get());
+            if (user.isEmpty()) {
+                return Optional.empty();
+            }
+            principal = cachePrincipal(user.get());
+            // The entity was needed to build the principal; keep it for getCurrentUser()
+            if (request != null) {
+                request.setAttribute(USER_ATTRIBUTE, user.get(), RequestAttributes.SCOPE_REQUEST);
+            }
+        }
+        if (request != null) {
+            request.setAttribute(PRINCIPAL_ATTRIBUTE, principal, RequestAttributes.SCOPE_REQUEST);
+        }
+        return Optional.of(principal);
+    }
+
+    /**
+     * The signed-in User entity, loaded at most once per request
+     */
+    public Optional<User> getCurrentUser() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            User resolved = (User) request.getAttribute(USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (resolved != null) {
+                return Optional.of(resolved);
+            }
+        }
+
+        Optional<User> user = getCurrentPrincipal().flatMap(principal -> userRepository.findById(principal.id()));
+        if (request != null && user.isPresent()) {
+            request.setAttribute(USER_ATTRIBUTE, user.get(), RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+
+    /**
+     * Find a user by email, reusing the current request's user when it is the same person
+     */
+    public Optional<User> findUserByEmail(String email) {
+        Optional<CurrentPrincipal> principal = getCurrentPrincipal();
+        if (principal.isPresent() && principal.get().email().equalsIgnoreCase(email)) {
+            return getCurrentUser();
+        }
+        return userRepository.findByEmail(email);
+    }
+
+    /**
+     * Whether the user is one of the club's admins; answered from the request principal
+     * when the user is the one signed in
+     */
+    public boolean managesClub(User user, Long clubId) {
+        return getCurrentPrincipal()
+            .filter(principal -> principal.id().equals(user.getId()))
+            .map(principal -> principal.managesClub(clubId))
+            .orElseGet(() -> clubRepository.findIdsByAdminId(user.getId()).contains(clubId));
+    }
+
+    /**
+     * Drop the cached principal and login details of one user once the current transaction commits
+     */
+    public void evict(String email) {
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            principalsByEmail.remove(email.toLowerCase());
+            loginUserCache.removeUserFromCache(email);
+        });
+    }
+
+    /**
+     * Club admin assignments are part of every principal; drop them all after club changes
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClubsChanged(DashboardChangedEvent event) {
+        if (event.source() == DashboardChangedEvent.Source.CLUBS) {
+            generation.incrementAndGet();
+            principalsByEmail.clear();
+        }
+    }
+
+    private CurrentPrincipal cachedPrincipal(String email) {
+        String key = email.toLowerCase();
+        CachedPrincipal cached = principalsByEmail.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() - cached.loadedAt() >= principalTtlMs) {
+            principalsByEmail.remove(key, cached);
+            return null;
+        }
+        return cached.principal();
+    }
+
+    private CurrentPrincipal cachePrincipal(User user) {
+        long loadedGeneration = generation.get();
+        CurrentPrincipal principal = new CurrentPrincipal(user.getId(), user.getEmail(), user.getName(), user.getRole(),
+            new HashSet<>(clubRepository.findIdsByAdminId(user.getId())));
+        
+        String key = user.getEmail().toLowerCase();
+        CachedPrincipal cached = new CachedPrincipal(principal, System.currentTimeMillis());
+        principalsByEmail.put(key, cached);
+        if (generation.get() != loadedGeneration) {
+            principalsByEmail.remove(key, cached);
+        }
+        return principal;
+    }
+
+    private static Optional<String> authenticatedEmail() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated() &&
+            !authentication.getName().equals("anonymousUser")) {
+            return Optional.of(authentication.getName());
+        }
+        return Optional.empty();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record CachedPrincipal(CurrentPrincipal principal, long loadedAt) {
+    }
+}
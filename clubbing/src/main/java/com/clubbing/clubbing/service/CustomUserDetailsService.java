@@ -18,9 +18,19 @@ import java.util.Collections;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final LoginUserCache userCache;
 
+    /**
+     * Load login details, from the cache when possible; used by both form login and
+     * remember-me, so a returning user does not hit the database on every new session
+     */
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        UserDetails cached = userCache.getUserFromCache(email);
+        if (cached != null) {
+            return cached;
+        }
+
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
@@ -28,7 +38,7 @@ public class CustomUserDetailsService implements UserDetailsService {
             throw new UsernameNotFoundException("User account is not active");
         }
 
-        return org.springframework.security.core.userdetails.User.builder()
+        UserDetails details = org.springframework.security.core.userdetails.User.builder()
                 .username(user.getEmail())
                 .password(user.getPassword())
                 .authorities(getAuthorities(user))
@@ -37,6 +47,9 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .credentialsExpired(false)
                 .disabled(!user.isActive())
                 .build();
+
+        userCache.putUserInCache(details);
+        return details;
     }
 
     private Collection<? extends GrantedAuthority> getAuthorities(User user) {
@@ -0,0 +1,26 @@
+package com.clubbing.clubbing.service;
+
+/**
+ * Published by writes that can change what a dashboard shows; dashboard snapshots
+ * derived from the changed data are dropped once the publishing transaction commits.
+ */
+public record DashboardChangedEvent(Source source) {
+
+    public enum Source {
+        USERS,
+        CLUBS,
+        MEMBERSHIPS
+    }
+
+    public static DashboardChangedEvent users() {
+        return new DashboardChangedEvent(Source.USERS);
+    }
+
+    public static DashboardChangedEvent clubs() {
+        return new DashboardChangedEvent(Source.CLUBS);
+    }
+
+    public static DashboardChangedEvent memberships() {
+        return new DashboardChangedEvent(Source.MEMBERSHIPS);
+    }
+}
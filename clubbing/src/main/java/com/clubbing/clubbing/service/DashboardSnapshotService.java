@@ -0,0 +1,146 @@
+package com.clubbing.clubbing.service;
+
+import com.clubbing.clubbing.dto.ClubDto;
+import com.clubbing.clubbing.model.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Precomputed dashboard data per role.
+ * Snapshots live for a short TTL and are dropped as soon as a committed club, user or
+ * membership change makes them stale (see {@link DashboardChangedEvent}). Hits and misses
+ * are published as clubbing.dashboard.snapshots{role, result}.
+ */
+@Service
+@Slf4j
+public class DashboardSnapshotService {
+
+    private static final String ALL = "all";
+
+    private final UserService userService;
+    private final ClubService clubService;
+
+    private final SnapshotCache<String, SystemDashboard> systemSnapshots;
+    private final SnapshotCache<Long, List<ClubDto>> clubAdminSnapshots;
+    private final SnapshotCache<String, List<ClubDto>> studentSnapshots;
+
+    @Value("${clubbing.dashboard.snapshot-ttl-ms:60000}")
+    private long snapshotTtlMs;
+
+    public DashboardSnapshotService(UserService userService, ClubService clubService, MeterRegistry meterRegistry) {
+        this.userService = userService;
+        this.clubService = clubService;
+        this.systemSnapshots = new SnapshotCache<>("system", meterRegistry);
+        this.clubAdminSnapshots = new SnapshotCache<>("club_admin", meterRegistry);
+        this.studentSnapshots = new SnapshotCache<>("student", meterRegistry);
+    }
+
+    /**
+     * User and club statistics for system administrators
+     */
+    public SystemDashboard getSystemDashboard() {
+        return systemSnapshots.get(ALL, snapshotTtlMs,
+            () -> new SystemDashboard(userService.getUserStats(), clubService.getClubStats()));
+    }
+
+    /**
+     * Clubs managed by a club administrator
+     */
+    public List<ClubDto> getClubAdminDashboard(User admin) {
+        return clubAdminSnapshots.get(admin.getId(), snapshotTtlMs,
+            () -> List.copyOf(clubService.getClubsByAdmin(admin)));
+    }
+
+    /**
+     * Active clubs shown to students
+     */
+    public List<ClubDto> getStudentDashboard() {
+        return studentSnapshots.get(ALL, snapshotTtlMs, () -> List.copyOf(clubService.getActiveClubs()));
+    }
+
+    /**
+     * Drop the snapshots built from the data that changed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDashboardChanged(DashboardChangedEvent event) {
+        log.debug("Dropping dashboard snapshots after {} change", event.source());
+        switch (event.source()) {
+            case USERS -> {
+                systemSnapshots.invalidate();
+                clubAdminSnapshots.invalidate();
+            }
+            case CLUBS -> {
+                systemSnapshots.invalidate();
+                clubAdminSnapshots.invalidate();
+                studentSnapshots.invalidate();
+            }
+            case MEMBERSHIPS -> {
+                clubAdminSnapshots.invalidate();
+                studentSnapshots.invalidate();
+            }
+        }
+    }
+
+    public record SystemDashboard(UserService.UserStats userStats, ClubService.ClubStats clubStats) {
+    }
+
+    private record Snapshot<T>(T value, long takenAt) {
+    }
+
+    /**
+     * Keyed snapshots of one dashboard kind. A generation counter keeps a load that
+     * overlapped an invalidation from being served afterwards.
+     */
+    private static final class SnapshotCache<K, T> {
+
+        private final Map<K, Snapshot<T>> snapshots = new ConcurrentHashMap<>();
+        private final AtomicLong generation = new AtomicLong();
+        private final Counter hits;
+        private final Counter misses;
+
+        SnapshotCache(String role, MeterRegistry meterRegistry) {
+            this.hits = Counter.builder("clubbing.dashboard.snapshots")
+                .description("Dashboard snapshot lookups")
+                .tag("role", role)
+                .tag("result", "hit")
+                .register(meterRegistry);
+            this.misses = Counter.builder("clubbing.dashboard.snapshots")
+                .description("Dashboard snapshot lookups")
+                .tag("role", role)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        }
+
+        T get(K key, long ttlMs, Supplier<T> loader) {
+            Snapshot<T> snapshot = snapshots.get(key);
+            if (snapshot != null && System.currentTimeMillis() - snapshot.takenAt() < ttlMs) {
+                hits.increment();
+                return snapshot.value();
+            }
+
+            misses.increment();
+            long loadedGeneration = generation.get();
+            Snapshot<T> loaded = new Snapshot<>(loader.get(), System.currentTimeMillis());
+            snapshots.put(key, loaded);
+            if (generation.get() != loadedGeneration) {
+                snapshots.remove(key, loaded);
+            }
+            return loaded.value();
+        }
+
+        void invalidate() {
+            generation.incrementAndGet();
+            snapshots.clear();
+        }
+    }
+}
@@ -21,6 +21,7 @@ public class DataInitializationService implements CommandLineRunner {
     private final UserRepository userRepository;
     private final ClubRepository clubRepository;
     private final MembershipService membershipService;
+    private final AttendanceRollupService attendanceRollupService;
     private final PasswordEncoder passwordEncoder;
 
     @Override
@@ -30,6 +31,9 @@ public class DataInitializationService implements CommandLineRunner {
         
         // Recalculate member counts to ensure accuracy
         membershipService.recalculateAllClubMemberCounts();
+        
+        // Backfill attendance rollups for events recorded before they existed
+        attendanceRollupService.reconcileRollups();
     }
 
     private void initializeDefaultUsers() {
@@ -0,0 +1,126 @@
+package com.clubbing.clubbing.service;
+
+import com.clubbing.clubbing.model.Event;
+import com.clubbing.clubbing.model.User;
+import com.clubbing.clubbing.repository.EventAttendanceRepository;
+import com.clubbing.clubbing.repository.EventRegistrationRepository;
+import com.clubbing.clubbing.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * CSV exports of event registrations and attendance.
+ * Rows are read through a forward-only JPA stream of scalar projections and written
+ * straight to the response, so memory use does not grow with the size of the event.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class EventExportService {
+
+    // Push rows to the client regularly instead of only when the writer's buffer fills
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private static final List<String> REGISTRATION_HEADER = List.of(
+        "registration_id", "name", "email", "student_id", "department", "status", "registered_at", "cancelled_at");
+    private static final List<String> ATTENDANCE_HEADER = List.of(
+        "attendance_id", "name", "email", "student_id", "attended", "check_in_time", "marked_by", "notes");
+
+    private final EventRepository eventRepository;
+    private final EventRegistrationRepository registrationRepository;
+    private final EventAttendanceRepository attendanceRepository;
+    private final CurrentUserService currentUserService;
+
+    /**
+     * Check that the user may export the event's lists and return the event title (Club Admin)
+     */
+    public String authorizeExport(Long eventId, String adminEmail) {
+        User admin = currentUserService.findUserByEmail(adminEmail)
+            .orElseThrow(() -> new RuntimeException("Admin user not found"));
+
+        Event event = eventRepository.findById(eventId)
+            .orElseThrow(() -> new RuntimeException("Event not found"));
+
+        if (!currentUserService.managesClub(admin, event.getClub().getId()) && !admin.isSystemAdmin()) {
+            throw new AccessDeniedException("You are not authorized to export lists for this event");
+        }
+        return event.getTitle();
+    }
+
+    /**
+     * Write all registrations of an event as CSV; returns the number of rows written
+     */
+    public long writeRegistrationsCsv(Long eventId, OutputStream out) throws IOException {
+        return writeCsv(REGISTRATION_HEADER, () -> registrationRepository.streamExportRowsByEventId(eventId), out);
+    }
+
+    /**
+     * Write all attendance records of an event as CSV; returns the number of rows written
+     */
+    public long writeAttendanceCsv(Long eventId, OutputStream out) throws IOException {
+        return writeCsv(ATTENDANCE_HEADER, () -> attendanceRepository.streamExportRowsByEventId(eventId), out);
+    }
+
+    private long writeCsv(List<String> header, Supplier<Stream<Object[]>> query, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writeRecord(writer, header.toArray());
+        // Send the header before running the query so the download starts immediately
+        writer.flush();
+
+        long written = 0;
+        try (Stream<Object[]> rows = query.get()) {
+            Iterator<Object[]> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writeRecord(writer, iterator.next());
+                if (++written % FLUSH_EVERY_ROWS == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        return written;
+    }
+
+    private static void writeRecord(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escape(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Neutralise spreadsheet formulas in user-supplied text, then quote a value when it contains
+     * a delimiter, quote or line break (RFC 4180)
+     */
+    private static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (value instanceof CharSequence && !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
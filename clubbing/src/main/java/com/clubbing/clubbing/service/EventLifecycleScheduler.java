@@ -0,0 +1,67 @@
+package com.clubbing.clubbing.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically completes past events and records per-run metrics
+ * (clubbing.lifecycle.run, clubbing.lifecycle.events.completed, clubbing.lifecycle.registrations.no-show).
+ */
+@Component
+@Slf4j
+public class EventLifecycleScheduler {
+
+    private final EventLifecycleService eventLifecycleService;
+    private final Timer runTimer;
+    private final Counter eventsCompleted;
+    private final Counter registrationsNoShow;
+
+    @Value("${clubbing.lifecycle.completion-grace-hours:6}")
+    private long completionGraceHours;
+
+    public EventLifecycleScheduler(EventLifecycleService eventLifecycleService, MeterRegistry meterRegistry) {
+        this.eventLifecycleService = eventLifecycleService;
+        this.runTimer = Timer.builder("clubbing.lifecycle.run")
+            .description("Duration of event lifecycle runs")
+            .register(meterRegistry);
+        this.eventsCompleted = Counter.builder("clubbing.lifecycle.events.completed")
+            .description("Events moved to COMPLETED by the lifecycle job")
+            .register(meterRegistry);
+        this.registrationsNoShow = Counter.builder("clubbing.lifecycle.registrations.no-show")
+            .description("Registrations marked NO_SHOW by the lifecycle job")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${clubbing.lifecycle.interval-ms:900000}",
+               initialDelayString = "${clubbing.lifecycle.initial-delay-ms:60000}")
+    public void completePastEvents() {
+        LocalDateTime cutoffTime = LocalDateTime.now().minusHours(completionGraceHours);
+        long start = System.nanoTime();
+        try {
+            EventLifecycleService.LifecycleRunResult result = eventLifecycleService.completePastEvents(cutoffTime);
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            eventsCompleted.increment(result.eventsCompleted());
+            registrationsNoShow.increment(result.registrationsMarkedNoShow());
+
+            if (result.eventsCompleted() > 0 || result.registrationsMarkedNoShow() > 0) {
+                log.info("Lifecycle run completed {} events and marked {} no-shows in {} ms",
+                    result.eventsCompleted(), result.registrationsMarkedNoShow(), elapsedMs);
+            } else {
+                log.debug("Lifecycle run found no past events in {} ms", elapsedMs);
+            }
+        } catch (RuntimeException e) {
+            log.error("Lifecycle run failed: {}", e.getMessage());
+        } finally {
+            runTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
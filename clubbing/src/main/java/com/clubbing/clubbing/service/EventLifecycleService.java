@@ -0,0 +1,54 @@
+package com.clubbing.clubbing.service;
+
+import com.clubbing.clubbing.model.EventStatus;
+import com.clubbing.clubbing.model.RegistrationStatus;
+import com.clubbing.clubbing.repository.EventRegistrationRepository;
+import com.clubbing.clubbing.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Event lifecycle transitions.
+ * Past events are completed with set-based bulk UPDATEs instead of loading and saving
+ * each event, so a run costs two statements regardless of how many events and
+ * registrations it touches, and no registration/attendance collections are cascaded.
+ * The no-shows are counted per event beforehand to update the attendance rollups.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class EventLifecycleService {
+
+    private final EventRepository eventRepository;
+    private final EventRegistrationRepository registrationRepository;
+    private final SearchIndexService searchIndexService;
+    private final AttendanceRollupService attendanceRollupService;
+    private final ScheduleConflictService scheduleConflictService;
+
+    /**
+     * Mark remaining registrations as no-shows and complete all published events that started before the cutoff
+     */
+    public LifecycleRunResult completePastEvents(LocalDateTime cutoffTime) {
+        LocalDateTime now = LocalDateTime.now();
+
+        // No-shows first: the subquery selects events by their PUBLISHED status, which the next update flips
+        attendanceRollupService.recordNoShows(registrationRepository.countNoShowsForEventsBefore(cutoffTime));
+        int noShows = registrationRepository.markNoShowsForEventsBefore(cutoffTime, RegistrationStatus.NO_SHOW, now);
+        int completed = eventRepository.markEventsCompleted(cutoffTime, EventStatus.COMPLETED, now);
+        if (completed > 0) {
+            searchIndexService.markEventsCompleted(cutoffTime);
+        }
+        // Past events can no longer conflict with anything; keep the schedule index to upcoming ones
+        scheduleConflictService.removeEventsBefore(cutoffTime);
+
+        return new LifecycleRunResult(completed, noShows);
+    }
+
+    public record LifecycleRunResult(int eventsCompleted, int registrationsMarkedNoShow) {
+    }
+}
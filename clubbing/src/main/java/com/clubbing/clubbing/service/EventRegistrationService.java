@@ -0,0 +1,206 @@
+package com.clubbing.clubbing.service;
+
+import com.clubbing.clubbing.dto.EventRegistrationDto;
+import com.clubbing.clubbing.model.*;
+import com.clubbing.clubbing.repository.EventRegistrationRepository;
+import com.clubbing.clubbing.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Event registration service.
+ * Seats are reserved with a conditional UPDATE on the event row, so concurrent
+ * registrations can never push registrationCount past capacity and only the
+ * single event row is locked for the duration of the update.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class EventRegistrationService {
+
+    private final EventRepository eventRepository;
+    private final EventRegistrationRepository registrationRepository;
+    private final CurrentUserService currentUserService;
+    private final WaitlistPromotionService waitlistPromotionService;
+    private final TicketService ticketService;
+    private final ScheduleConflictService scheduleConflictService;
+
+    /**
+     * Register the current user for an event, waitlisting them when the event is full
+     */
+    public EventRegistrationDto registerForEvent(Long eventId, String userEmail) {
+        log.info("User {} registering for event {}", userEmail, eventId);
+
+        User user = currentUserService.findUserByEmail(userEmail)
+            .orElseThrow(() -> new RuntimeException("Current user not found"));
+
+        Event event = eventRepository.findById(eventId)
+            .orElseThrow(() -> new RuntimeException("Event not found"));
+
+        if (!event.getStatus().canRegister()) {
+            throw new RuntimeException("Registration is not open for this event");
+        }
+
+        if (event.isPastEvent()) {
+            throw new RuntimeException("This event has already taken place");
+        }
+
+        if (event.getRegistrationDeadline() != null && LocalDateTime.now().isAfter(event.getRegistrationDeadline())) {
+            throw new RuntimeException("The registration deadline has passed");
+        }
+
+        // A user has at most one registration row per event; reuse it after a cancellation
+        Optional<EventRegistration> existing = registrationRepository.findByUserAndEvent(user, event);
+        if (existing.isPresent() && existing.get().isActive()) {
+            throw new RuntimeException("You are already registered for this event");
+        }
+
+        // Seats freed while others are waiting belong to the head of the waitlist (promoted FIFO by
+        // WaitlistPromotionService), so newcomers queue behind them instead of taking the seat
+        boolean waitlistAhead = registrationRepository.hasWaitlist(eventId);
+        RegistrationStatus status = !waitlistAhead && eventRepository.reserveSeat(eventId) == 1
+            ? RegistrationStatus.REGISTERED
+            : RegistrationStatus.WAITLISTED;
+
+        EventRegistration registration = existing.orElseGet(() -> EventRegistration.builder()
+            .event(event)
+            .user(user)
+            .build());
+        registration.setStatus(status);
+        registration.setRegistrationDate(LocalDateTime.now());
+        registration.setCancellationDate(null);
+        registration.setNotes(null);
+
+        EventRegistration savedRegistration = registrationRepository.save(registration);
+        log.info("User {} {} for event {}", userEmail,
+            status == RegistrationStatus.REGISTERED ? "registered" : "waitlisted", eventId);
+
+        // Registering is still allowed, but overlapping events are reported back to the student
+        List<ScheduleConflictService.ConflictingEvent> conflicts = scheduleConflictService.findConflicts(user.getId(), event);
+        scheduleConflictService.addRegistration(user.getId(), event);
+
+        EventRegistrationDto dto = convertToDto(savedRegistration);
+        dto.setConflictingEventTitles(conflicts.stream()
+            .map(ScheduleConflictService.ConflictingEvent::title)
+            .collect(Collectors.toList()));
+        return dto;
+    }
+
+    /**
+     * Cancel the current user's registration for an event
+     */
+    public EventRegistrationDto cancelRegistration(Long eventId, String userEmail, String reason) {
+        log.info("User {} cancelling registration for event {}", userEmail, eventId);
+
+        User user = currentUserService.findUserByEmail(userEmail)
+            .orElseThrow(() -> new RuntimeException("Current user not found"));
+
+        Event event = eventRepository.findById(eventId)
+            .orElseThrow(() -> new RuntimeException("Event not found"));
+
+        EventRegistration registration = registrationRepository.findByUserAndEvent(user, event)
+            .orElseThrow(() -> new RuntimeException("You are not registered for this event"));
+
+        if (!registration.canCancel()) {
+            throw new RuntimeException("This registration cannot be cancelled");
+        }
+
+        boolean heldSeat = registration.getStatus() == RegistrationStatus.REGISTERED;
+        registration.cancel(reason);
+        EventRegistration savedRegistration = registrationRepository.save(registration);
+        scheduleConflictService.removeRegistration(user.getId(), eventId);
+
+        if (heldSeat) {
+            eventRepository.releaseSeat(eventId);
+            waitlistPromotionService.requestPromotion(eventId);
+        }
+
+        log.info("Registration cancelled for user {} on event {}", userEmail, eventId);
+        return convertToDto(savedRegistration);
+    }
+
+    /**
+     * Get the current user's registration for an event, if any
+     */
+    @Transactional(readOnly = true)
+    public Optional<EventRegistrationDto> getUserRegistration(Long eventId, String userEmail) {
+        Optional<User> user = currentUserService.findUserByEmail(userEmail);
+        Optional<Event> event = eventRepository.findById(eventId);
+        if (user.isEmpty() || event.isEmpty()) {
+            return Optional.empty();
+        }
+
+        return registrationRepository.findByUserAndEvent(user.get(), event.get())
+            .map(this::convertToDto);
+    }
+
+    /**
+     * Get upcoming registrations for the current user
+     */
+    @Transactional(readOnly = true)
+    public List<EventRegistrationDto> getUpcomingRegistrations(String userEmail) {
+        User user = currentUserService.findUserByEmail(userEmail)
+            .orElseThrow(() -> new RuntimeException("Current user not found"));
+
+        return registrationRepository.findUpcomingByUser(user, LocalDateTime.now()).stream()
+            .map(this::convertToDto)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Get all registrations for an event (Club Admin)
+     */
+    @Transactional(readOnly = true)
+    public List<EventRegistrationDto> getRegistrationsForEvent(Long eventId, String adminEmail) {
+        User admin = currentUserService.findUserByEmail(adminEmail)
+            .orElseThrow(() -> new RuntimeException("Admin user not found"));
+
+        Event event = eventRepository.findById(eventId)
+            .orElseThrow(() -> new RuntimeException("Event not found"));
+
+        if (!currentUserService.managesClub(admin, event.getClub().getId()) && !admin.isSystemAdmin()) {
+            throw new AccessDeniedException("You are not authorized to view registrations for this event");
+        }
+
+        return registrationRepository.findByEvent(event).stream()
+            .map(this::convertToDto)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Convert EventRegistration entity to EventRegistrationDto
+     */
+    private EventRegistrationDto convertToDto(EventRegistration registration) {
+        Event event = registration.getEvent();
+        User user = registration.getUser();
+
+        return EventRegistrationDto.builder()
+            .id(registration.getId())
+            .eventId(event.getId())
+            .eventTitle(event.getTitle())
+            .eventDate(event.getEventDate())
+            .eventLocation(event.getLocation())
+            .userId(user.getId())
+            .userName(user.getName())
+            .userEmail(user.getEmail())
+            .status(registration.getStatus())
+            .registrationDate(registration.getRegistrationDate())
+            .cancellationDate(registration.getCancellationDate())
+            .notes(registration.getNotes())
+            .ticketCode(registration.getStatus().canAttend() || registration.getStatus() == RegistrationStatus.ATTENDED
+                ? ticketService.issueTicket(registration.getId(), event.getId(), user.getId())
+                : null)
+            .createdAt(registration.getCreatedAt())
+            .updatedAt(registration.getUpdatedAt())
+            .build();
+    }
+}
@@ -0,0 +1,43 @@
+package com.clubbing.clubbing.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Periodically sends reminders for registrations whose event starts within the lead time.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventReminderScheduler {
+
+    private final EventReminderService eventReminderService;
+
+    @Value("${clubbing.reminders.lead-time-hours:24}")
+    private long leadTimeHours;
+
+    @Scheduled(fixedDelayString = "${clubbing.reminders.interval-ms:300000}")
+    public void sendUpcomingEventReminders() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime windowEnd = now.plusHours(leadTimeHours);
+
+        Long lastId = 0L;
+        int batches = 0;
+        try {
+            while ((lastId = eventReminderService.dispatchNextBatch(now, windowEnd, lastId)) != null) {
+                batches++;
+            }
+        } catch (RuntimeException e) {
+            log.error("Reminder dispatch stopped after {} batches: {}", batches, e.getMessage());
+        }
+
+        if (batches > 0) {
+            log.info("Reminder dispatch completed: {} batches", batches);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.clubbing.clubbing.service;
+
+import com.clubbing.clubbing.dto.EventReminderDto;
+import com.clubbing.clubbing.repository.EventRegistrationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Event reminder dispatch.
+ * Pending reminders are read as flat projections one keyset page at a time, so memory
+ * use does not grow with the number of registrations in the window. Each page is
+ * delivered and marked as sent in its own transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class EventReminderService {
+
+    private final EventRegistrationRepository registrationRepository;
+
+    @Value("${clubbing.reminders.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Deliver and mark one page of pending reminders; returns the last registration id
+     * processed, or null when the window has no more pending reminders
+     */
+    public Long dispatchNextBatch(LocalDateTime windowStart, LocalDateTime windowEnd, Long afterId) {
+        List<EventReminderDto> reminders = registrationRepository.findPendingRemindersAfter(
+            windowStart, windowEnd, afterId, PageRequest.of(0, batchSize));
+        if (reminders.isEmpty()) {
+            return null;
+        }
+
+        deliver(reminders);
+
+        List<Long> ids = reminders.stream()
+            .map(EventReminderDto::getRegistrationId)
+            .collect(Collectors.toList());
+        registrationRepository.markRemindersSent(ids, LocalDateTime.now());
+
+        return ids.get(ids.size() - 1);
+    }
+
+    /**
+     * Hand a batch of reminders to the notification channel
+     */
+    private void deliver(List<EventReminderDto> reminders) {
+        // No mail transport is configured yet; reminders are logged as one notification job per batch
+        log.info("Dispatching reminder job with {} notifications", reminders.size());
+        for (EventReminderDto reminder : reminders) {
+            log.debug("Reminder for {} <{}>: '{}' at {} ({})", reminder.getUserName(), reminder.getUserEmail(),
+                reminder.getEventTitle(), reminder.getEventDate(), reminder.getEventLocation());
+        }
+    }
+}
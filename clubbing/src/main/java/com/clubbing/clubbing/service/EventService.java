@@ -1,21 +1,28 @@
 package com.clubbing.clubbing.service;
 
+import com.clubbing.clubbing.dto.CursorPage;
 import com.clubbing.clubbing.dto.EventCreationDto;
 import com.clubbing.clubbing.dto.EventDto;
 import com.clubbing.clubbing.dto.EventUpdateDto;
+import com.clubbing.clubbing.dto.PageCursor;
 import com.clubbing.clubbing.model.*;
 import com.clubbing.clubbing.repository.ClubRepository;
 import com.clubbing.clubbing.repository.EventRepository;
 import com.clubbing.clubbing.repository.EventRegistrationRepository;
-import com.clubbing.clubbing.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,8 +33,12 @@ public class EventService {
     
     private final EventRepository eventRepository;
     private final ClubRepository clubRepository;
-    private final UserRepository userRepository;
+    private final CurrentUserService currentUserService;
     private final EventRegistrationRepository eventRegistrationRepository;
+    private final WaitlistPromotionService waitlistPromotionService;
+    private final SearchIndexService searchIndexService;
+    private final AttendanceRollupService attendanceRollupService;
+    private final ScheduleConflictService scheduleConflictService;
     
     /**
      * Create a new event
@@ -35,14 +46,14 @@ public class EventService {
     public EventDto createEvent(EventCreationDto eventCreationDto, String currentUserEmail) {
         log.info("Creating event: {} for club: {}", eventCreationDto.getTitle(), eventCreationDto.getClubId());
         
-        User currentUser = userRepository.findByEmail(currentUserEmail)
+        User currentUser = currentUserService.findUserByEmail(currentUserEmail)
             .orElseThrow(() -> new RuntimeException("Current user not found"));
         
         Club club = clubRepository.findById(eventCreationDto.getClubId())
             .orElseThrow(() -> new RuntimeException("Club not found"));
         
         // Check if user is admin of the club
-        if (!club.getAdmins().contains(currentUser)) {
+        if (!currentUserService.managesClub(currentUser, club.getId())) {
             throw new AccessDeniedException("You are not authorized to create events for this club");
         }
         
@@ -65,6 +76,8 @@ public class EventService {
             .build();
         
         Event savedEvent = eventRepository.save(event);
+        searchIndexService.indexEvent(savedEvent);
+        attendanceRollupService.ensureRollups(savedEvent);
         log.info("Event created successfully with ID: {}", savedEvent.getId());
         
         return convertToDto(savedEvent);
@@ -76,14 +89,14 @@ public class EventService {
     public EventDto updateEvent(EventUpdateDto eventUpdateDto, String currentUserEmail) {
         log.info("Updating event: {}", eventUpdateDto.getId());
         
-        User currentUser = userRepository.findByEmail(currentUserEmail)
+        User currentUser = currentUserService.findUserByEmail(currentUserEmail)
             .orElseThrow(() -> new RuntimeException("Current user not found"));
         
         Event event = eventRepository.findById(eventUpdateDto.getId())
             .orElseThrow(() -> new RuntimeException("Event not found"));
         
         // Check if user is admin of the club
-        if (!event.getClub().getAdmins().contains(currentUser)) {
+        if (!currentUserService.managesClub(currentUser, event.getClub().getId())) {
             throw new AccessDeniedException("You are not authorized to update this event");
         }
         
@@ -103,8 +116,14 @@ public class EventService {
         event.setImageUrl(eventUpdateDto.getImageUrl());
         
         Event savedEvent = eventRepository.save(event);
+        searchIndexService.indexEvent(savedEvent);
+        attendanceRollupService.ensureRollups(savedEvent);
+        scheduleConflictService.updateEvent(savedEvent);
         log.info("Event updated successfully: {}", savedEvent.getId());
         
+        // A capacity increase may free seats for waitlisted users
+        waitlistPromotionService.requestPromotion(savedEvent.getId());
+        
         return convertToDto(savedEvent);
     }
     
@@ -114,14 +133,14 @@ public class EventService {
     public void deleteEvent(Long eventId, String currentUserEmail) {
         log.info("Deleting event: {}", eventId);
         
-        User currentUser = userRepository.findByEmail(currentUserEmail)
+        User currentUser = currentUserService.findUserByEmail(currentUserEmail)
             .orElseThrow(() -> new RuntimeException("Current user not found"));
         
         Event event = eventRepository.findById(eventId)
             .orElseThrow(() -> new RuntimeException("Event not found"));
         
         // Check if user is admin of the club
-        if (!event.getClub().getAdmins().contains(currentUser)) {
+        if (!currentUserService.managesClub(currentUser, event.getClub().getId())) {
             throw new AccessDeniedException("You are not authorized to delete this event");
         }
         
@@ -131,6 +150,9 @@ public class EventService {
         }
         
         eventRepository.delete(event);
+        attendanceRollupService.removeEvent(eventId);
+        scheduleConflictService.removeEvent(eventId);
+        searchIndexService.removeEvent(eventId);
         log.info("Event deleted successfully: {}", eventId);
     }
     
@@ -145,49 +167,89 @@ public class EventService {
     }
     
     /**
-     * Get all published events
+     * Get a page of published events, ordered by event date
      */
     @Transactional(readOnly = true)
-    public List<EventDto> getAllPublishedEvents() {
-        return eventRepository.findPublishedEvents().stream()
-            .map(this::convertToDto)
-            .collect(Collectors.toList());
+    public CursorPage<EventDto> getPublishedEventsPage(String cursor, Integer size) {
+        int pageSize = CursorPage.normalizeSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        Optional<PageCursor> after = PageCursor.decode(cursor).filter(c -> c.timestamp() != null);
+        
+        List<EventDto> rows = after
+            .map(c -> eventRepository.findPublishedPageAfter(c.timestamp(), c.id(), limit))
+            .orElseGet(() -> eventRepository.findPublishedPage(limit));
+        
+        return CursorPage.of(rows, pageSize, after.isEmpty(),
+            event -> PageCursor.encode(event.getEventDate(), event.getId()), Function.identity());
     }
     
     /**
-     * Get upcoming published events
+     * Get the next upcoming published events
      */
     @Transactional(readOnly = true)
-    public List<EventDto> getUpcomingEvents() {
-        return eventRepository.findUpcomingPublishedEvents(LocalDateTime.now()).stream()
-            .map(this::convertToDto)
-            .collect(Collectors.toList());
+    public List<EventDto> getUpcomingEvents(int limit) {
+        return eventRepository.findUpcomingPublishedEvents(LocalDateTime.now(), PageRequest.of(0, limit));
     }
     
     /**
-     * Get events by club admin
+     * Get a page of events by club admin, newest first, optionally filtered by status
      */
     @Transactional(readOnly = true)
-    public List<EventDto> getEventsByClubAdmin(String adminEmail) {
-        User admin = userRepository.findByEmail(adminEmail)
+    public CursorPage<EventDto> getEventsPageByClubAdmin(String adminEmail, EventStatus status,
+                                                         String cursor, Integer size) {
+        User admin = currentUserService.findUserByEmail(adminEmail)
             .orElseThrow(() -> new RuntimeException("Admin user not found"));
         
-        return eventRepository.findByClubAdmin(admin).stream()
-            .map(this::convertToDto)
-            .collect(Collectors.toList());
+        int pageSize = CursorPage.normalizeSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        Optional<PageCursor> after = PageCursor.decode(cursor).filter(c -> c.timestamp() != null);
+        
+        List<EventDto> rows = after
+            .map(c -> eventRepository.findPageByClubAdminAfter(admin, status, c.timestamp(), c.id(), limit))
+            .orElseGet(() -> eventRepository.findPageByClubAdmin(admin, status, limit));
+        
+        return CursorPage.of(rows, pageSize, after.isEmpty(),
+            event -> PageCursor.encode(event.getEventDate(), event.getId()), Function.identity());
     }
     
     /**
-     * Get upcoming events by club admin
+     * Get the next upcoming events by club admin
      */
     @Transactional(readOnly = true)
-    public List<EventDto> getUpcomingEventsByClubAdmin(String adminEmail) {
-        User admin = userRepository.findByEmail(adminEmail)
+    public List<EventDto> getUpcomingEventsByClubAdmin(String adminEmail, int limit) {
+        User admin = currentUserService.findUserByEmail(adminEmail)
             .orElseThrow(() -> new RuntimeException("Admin user not found"));
         
-        return eventRepository.findUpcomingByClubAdmin(admin, LocalDateTime.now()).stream()
-            .map(this::convertToDto)
-            .collect(Collectors.toList());
+        return eventRepository.findUpcomingByClubAdmin(admin, LocalDateTime.now(), PageRequest.of(0, limit));
+    }
+    
+    /**
+     * Count events by status for the clubs of a club admin
+     */
+    @Transactional(readOnly = true)
+    public Map<EventStatus, Long> getEventCountsByClubAdmin(String adminEmail) {
+        User admin = currentUserService.findUserByEmail(adminEmail)
+            .orElseThrow(() -> new RuntimeException("Admin user not found"));
+        
+        Map<EventStatus, Long> counts = new EnumMap<>(EventStatus.class);
+        for (EventStatus status : EventStatus.values()) {
+            counts.put(status, 0L);
+        }
+        for (Object[] row : eventRepository.countByClubAdminGroupByStatus(admin)) {
+            counts.put((EventStatus) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+    
+    /**
+     * Count upcoming events for the clubs of a club admin
+     */
+    @Transactional(readOnly = true)
+    public long countUpcomingEventsByClubAdmin(String adminEmail) {
+        User admin = currentUserService.findUserByEmail(adminEmail)
+            .orElseThrow(() -> new RuntimeException("Admin user not found"));
+        
+        return eventRepository.countUpcomingByClubAdmin(admin, LocalDateTime.now());
     }
     
     /**
@@ -195,25 +257,33 @@ public class EventService {
      */
     @Transactional(readOnly = true)
     public List<EventDto> getEventsByClub(Long clubId) {
-        Club club = clubRepository.findById(clubId)
-            .orElseThrow(() -> new RuntimeException("Club not found"));
+        if (!clubRepository.existsById(clubId)) {
+            throw new RuntimeException("Club not found");
+        }
         
-        return eventRepository.findByClub(club).stream()
-            .map(this::convertToDto)
-            .collect(Collectors.toList());
+        return eventRepository.findDtosByClubId(clubId);
     }
     
     /**
-     * Search published events
+     * Search published events; without a term, page through getPublishedEventsPage instead
      */
     @Transactional(readOnly = true)
     public List<EventDto> searchEvents(String searchTerm) {
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            return getAllPublishedEvents();
+            throw new IllegalArgumentException("Search term is required");
+        }
+        
+        // Ranked ids come from the in-memory index; only the matching rows are loaded
+        List<Long> eventIds = searchIndexService.searchPublishedEventIds(searchTerm.trim());
+        if (eventIds.isEmpty()) {
+            return List.of();
         }
+        Map<Long, EventDto> eventsById = eventRepository.findDtosByIdIn(eventIds).stream()
+            .collect(Collectors.toMap(EventDto::getId, Function.identity()));
         
-        return eventRepository.searchPublishedEvents(searchTerm.trim()).stream()
-            .map(this::convertToDto)
+        return eventIds.stream()
+            .map(eventsById::get)
+            .filter(Objects::nonNull)
             .collect(Collectors.toList());
     }
     
@@ -223,14 +293,14 @@ public class EventService {
     public EventDto publishEvent(Long eventId, String currentUserEmail) {
         log.info("Publishing event: {}", eventId);
         
-        User currentUser = userRepository.findByEmail(currentUserEmail)
+        User currentUser = currentUserService.findUserByEmail(currentUserEmail)
             .orElseThrow(() -> new RuntimeException("Current user not found"));
         
         Event event = eventRepository.findById(eventId)
             .orElseThrow(() -> new RuntimeException("Event not found"));
         
         // Check if user is admin of the club
-        if (!event.getClub().getAdmins().contains(currentUser)) {
+        if (!currentUserService.managesClub(currentUser, event.getClub().getId())) {
             throw new AccessDeniedException("You are not authorized to publish this event");
         }
         
@@ -240,6 +310,7 @@ public class EventService {
         
         event.setStatus(EventStatus.PUBLISHED);
         Event savedEvent = eventRepository.save(event);
+        searchIndexService.indexEvent(savedEvent);
         
         log.info("Event published successfully: {}", eventId);
         return convertToDto(savedEvent);
@@ -251,14 +322,14 @@ public class EventService {
     public EventDto cancelEvent(Long eventId, String currentUserEmail) {
         log.info("Cancelling event: {}", eventId);
         
-        User currentUser = userRepository.findByEmail(currentUserEmail)
+        User currentUser = currentUserService.findUserByEmail(currentUserEmail)
             .orElseThrow(() -> new RuntimeException("Current user not found"));
         
         Event event = eventRepository.findById(eventId)
             .orElseThrow(() -> new RuntimeException("Event not found"));
         
         // Check if user is admin of the club
-        if (!event.getClub().getAdmins().contains(currentUser)) {
+        if (!currentUserService.managesClub(currentUser, event.getClub().getId())) {
             throw new AccessDeniedException("You are not authorized to cancel this event");
         }
         
@@ -268,6 +339,8 @@ public class EventService {
         
         event.setStatus(EventStatus.CANCELLED);
         Event savedEvent = eventRepository.save(event);
+        searchIndexService.indexEvent(savedEvent);
+        scheduleConflictService.removeEvent(eventId);
         
         log.info("Event cancelled successfully: {}", eventId);
         return convertToDto(savedEvent);
@@ -278,7 +351,7 @@ public class EventService {
      */
     @Transactional(readOnly = true)
     public List<Club> getClubsForEventCreation(String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
+        User user = currentUserService.findUserByEmail(userEmail)
             .orElseThrow(() -> new RuntimeException("User not found"));
         
         return clubRepository.findByAdmin(user);
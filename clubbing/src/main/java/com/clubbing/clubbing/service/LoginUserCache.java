@@ -0,0 +1,107 @@
+package com.clubbing.clubbing.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded, time-limited cache of login details used by {@link CustomUserDetailsService}.
+ * Least recently used entries are dropped beyond the size limit. Entries are stored and
+ * handed out as copies, because a successful authentication erases the credentials of the
+ * UserDetails instance it was given. A ReentrantLock rather than synchronized guards the
+ * map, so logins on virtual threads do not pin their carrier while waiting for it.
+ */
+@Component
+@Slf4j
+public class LoginUserCache implements UserCache {
+
+    @Value("${clubbing.security.user-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${clubbing.security.user-cache.ttl-ms:300000}")
+    private long ttlMs;
+
+    private final Lock lock = new ReentrantLock();
+
+    // Access-ordered, so even reads reorder it and the eldest entry is the least recently used; guarded by lock
+    private final Map<String, CachedDetails> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedDetails> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        String key = key(username);
+        CachedDetails cached;
+        lock.lock();
+        try {
+            cached = entries.get(key);
+            if (cached != null && System.currentTimeMillis() - cached.cachedAt() >= ttlMs) {
+                entries.remove(key);
+                cached = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return cached != null ? copy(cached.details()) : null;
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        CachedDetails cached = new CachedDetails(copy(user), System.currentTimeMillis());
+        lock.lock();
+        try {
+            entries.put(key(user.getUsername()), cached);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        CachedDetails removed;
+        lock.lock();
+        try {
+            removed = entries.remove(key(username));
+        } finally {
+            lock.unlock();
+        }
+        if (removed != null) {
+            log.debug("Evicted cached login details for {}", username);
+        }
+    }
+
+    /**
+     * Drop every cached entry
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    private static UserDetails copy(UserDetails details) {
+        return User.withUserDetails(details).build();
+    }
+
+    private record CachedDetails(UserDetails details, long cachedAt) {
+    }
+}
@@ -1,18 +1,35 @@
 package com.clubbing.clubbing.service;
 
+import com.clubbing.clubbing.dto.BulkMembershipDecisionDto;
+import com.clubbing.clubbing.dto.BulkMembershipDecisionResultDto;
+import com.clubbing.clubbing.dto.CursorPage;
 import com.clubbing.clubbing.dto.MembershipDto;
 import com.clubbing.clubbing.dto.MembershipRequestDto;
+import com.clubbing.clubbing.dto.PageCursor;
 import com.clubbing.clubbing.model.*;
 import com.clubbing.clubbing.repository.ClubMembershipRepository;
 import com.clubbing.clubbing.repository.ClubRepository;
 import com.clubbing.clubbing.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,9 +38,24 @@ import java.util.stream.Collectors;
 @Transactional
 public class MembershipService {
     
+    private static final int JDBC_BATCH_SIZE = 100;
+    
+    private static final String APPROVE_PENDING_SQL =
+        "UPDATE club_memberships SET status = 'APPROVED', joined_at = ?, processed_at = ?, processed_by = ?, updated_at = ? " +
+        "WHERE id = ? AND club_id = ? AND status = 'PENDING'";
+    
+    private static final String REJECT_PENDING_SQL =
+        "UPDATE club_memberships SET status = 'REJECTED', processed_at = ?, processed_by = ?, notes = ?, updated_at = ? " +
+        "WHERE id = ? AND club_id = ? AND status = 'PENDING'";
+    
     private final ClubMembershipRepository membershipRepository;
     private final ClubRepository clubRepository;
     private final UserRepository userRepository;
+    private final CurrentUserService currentUserService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ClubGrowthService clubGrowthService;
+    private final ClubRecommendationService clubRecommendationService;
+    private final JdbcTemplate jdbcTemplate;
     
     /**
      * Request to join a club (Student)
@@ -53,6 +85,7 @@ public class MembershipService {
                 .build();
         
         ClubMembership savedMembership = membershipRepository.save(membership);
+        clubGrowthService.recordJoinRequests(clubId, 1);
         log.info("Membership request created with ID: {}", savedMembership.getId());
         
         return convertToDto(savedMembership);
@@ -72,15 +105,20 @@ public class MembershipService {
         }
         
         // Check if approver can manage this club
-        if (!membership.getClub().hasAdmin(approver) && !approver.isSystemAdmin()) {
+        if (!currentUserService.managesClub(approver, membership.getClub().getId()) && !approver.isSystemAdmin()) {
             throw new IllegalArgumentException("You don't have permission to approve this request");
         }
         
+        claimTransition(membership, MembershipStatus.PENDING, MembershipStatus.APPROVED,
+                "Membership request is not pending");
         membership.approve(approver);
         ClubMembership savedMembership = membershipRepository.save(membership);
         
         // Update club member count
-        updateClubMemberCount(membership.getClub());
+        clubRepository.incrementMemberCount(membership.getClub().getId());
+        clubGrowthService.recordJoins(membership.getClub().getId(), 1);
+        clubRecommendationService.recordJoin(membership.getUser().getId(), membership.getClub().getId());
+        eventPublisher.publishEvent(DashboardChangedEvent.memberships());
         
         log.info("Membership request approved for user {} in club {}", 
                 membership.getUser().getEmail(), membership.getClub().getName());
@@ -102,10 +140,12 @@ public class MembershipService {
         }
         
         // Check if rejector can manage this club
-        if (!membership.getClub().hasAdmin(rejector) && !rejector.isSystemAdmin()) {
+        if (!currentUserService.managesClub(rejector, membership.getClub().getId()) && !rejector.isSystemAdmin()) {
             throw new IllegalArgumentException("You don't have permission to reject this request");
         }
         
+        claimTransition(membership, MembershipStatus.PENDING, MembershipStatus.REJECTED,
+                "Membership request is not pending");
         membership.reject(rejector, reason);
         ClubMembership savedMembership = membershipRepository.save(membership);
         
@@ -115,6 +155,123 @@ public class MembershipService {
         return convertToDto(savedMembership);
     }
     
+    /**
+     * Approve or reject many pending requests at once (Club Admin)
+     * Requests are grouped by club: one permission check, one batched update and one
+     * member-count adjustment per club. Requests that are unknown, no longer pending, or
+     * processed by someone else in the meantime are reported as skipped.
+     */
+    public BulkMembershipDecisionResultDto decideMembershipRequests(BulkMembershipDecisionDto request, User admin) {
+        boolean approve = request.getDecision() == BulkMembershipDecisionDto.Decision.APPROVE;
+        Set<Long> requestedIds = new LinkedHashSet<>(request.getMembershipIds());
+        log.info("User {} bulk {} of {} membership requests", admin.getEmail(),
+                approve ? "approval" : "rejection", requestedIds.size());
+        
+        Map<Long, List<Long>> idsByClub = new LinkedHashMap<>();
+        if (!requestedIds.isEmpty()) {
+            for (Object[] row : membershipRepository.findPendingClubIdsByIds(requestedIds)) {
+                idsByClub.computeIfAbsent((Long) row[1], clubId -> new ArrayList<>()).add((Long) row[0]);
+            }
+        }
+        
+        // Check every club before changing anything, so the batch is all or nothing
+        for (Long clubId : idsByClub.keySet()) {
+            if (!currentUserService.managesClub(admin, clubId) && !admin.isSystemAdmin()) {
+                throw new AccessDeniedException("You don't have permission to process requests for club " + clubId);
+            }
+        }
+        
+        String reason = request.getReason() != null && !request.getReason().trim().isEmpty()
+                ? request.getReason().trim()
+                : "No reason provided";
+        LocalDateTime processedAt = LocalDateTime.now();
+        Set<Long> changedIds = new LinkedHashSet<>();
+        for (Map.Entry<Long, List<Long>> club : idsByClub.entrySet()) {
+            List<Long> updated = approve
+                    ? approvePendingByClub(club.getKey(), club.getValue(), admin, processedAt)
+                    : rejectPendingByClub(club.getKey(), club.getValue(), admin, reason, processedAt);
+            if (approve && !updated.isEmpty()) {
+                clubRepository.addToMemberCount(club.getKey(), updated.size());
+                clubGrowthService.recordJoins(club.getKey(), updated.size());
+                membershipRepository.findUserIdsApprovedBy(club.getKey(), updated, admin)
+                        .forEach(userId -> clubRecommendationService.recordJoin(userId, club.getKey()));
+            }
+            changedIds.addAll(updated);
+        }
+        int processed = changedIds.size();
+        
+        if (approve && processed > 0) {
+            eventPublisher.publishEvent(DashboardChangedEvent.memberships());
+        }
+        
+        List<Long> skipped = new ArrayList<>(requestedIds);
+        skipped.removeAll(changedIds);
+        
+        log.info("Bulk {} by {}: {} processed across {} clubs, {} skipped", approve ? "approval" : "rejection",
+                admin.getEmail(), processed, idsByClub.size(), skipped.size());
+        
+        return BulkMembershipDecisionResultDto.builder()
+                .decision(request.getDecision())
+                .requested(requestedIds.size())
+                .processed(processed)
+                .skipped(skipped)
+                .clubIds(new ArrayList<>(idsByClub.keySet()))
+                .build();
+    }
+    
+    /**
+     * Approve pending requests of one club through a JDBC batch and return the ids that changed;
+     * the status guard leaves out requests someone else processed meanwhile
+     */
+    private List<Long> approvePendingByClub(Long clubId, List<Long> membershipIds, User admin,
+                                            LocalDateTime processedAt) {
+        Timestamp at = Timestamp.valueOf(processedAt);
+        int[][] counts = jdbcTemplate.batchUpdate(APPROVE_PENDING_SQL, membershipIds, JDBC_BATCH_SIZE, (ps, id) -> {
+            ps.setTimestamp(1, at);
+            ps.setTimestamp(2, at);
+            ps.setLong(3, admin.getId());
+            ps.setTimestamp(4, at);
+            ps.setLong(5, id);
+            ps.setLong(6, clubId);
+        });
+        return changedIds(membershipIds, counts);
+    }
+    
+    /**
+     * Reject pending requests of one club through a JDBC batch and return the ids that changed
+     */
+    private List<Long> rejectPendingByClub(Long clubId, List<Long> membershipIds, User admin,
+                                           String reason, LocalDateTime processedAt) {
+        Timestamp at = Timestamp.valueOf(processedAt);
+        int[][] counts = jdbcTemplate.batchUpdate(REJECT_PENDING_SQL, membershipIds, JDBC_BATCH_SIZE, (ps, id) -> {
+            ps.setTimestamp(1, at);
+            ps.setLong(2, admin.getId());
+            ps.setString(3, reason);
+            ps.setTimestamp(4, at);
+            ps.setLong(5, id);
+            ps.setLong(6, clubId);
+        });
+        return changedIds(membershipIds, counts);
+    }
+    
+    /**
+     * Pair JDBC batch update counts with the ids they were issued for, in order; drivers that
+     * cannot tell per statement count each as changed
+     */
+    private static List<Long> changedIds(List<Long> ids, int[][] counts) {
+        List<Long> changed = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                    changed.add(ids.get(index));
+                }
+                index++;
+            }
+        }
+        return changed;
+    }
+    
     /**
      * Leave club (Student)
      */
@@ -130,62 +287,107 @@ public class MembershipService {
         }
         
         ClubMembership membership = membershipOpt.get();
+        claimTransition(membership, MembershipStatus.APPROVED, MembershipStatus.LEFT,
+                "You are not a member of this club");
         membership.leave();
         membershipRepository.save(membership);
         
         // Update club member count
-        updateClubMemberCount(club);
+        clubRepository.decrementMemberCount(club.getId());
+        clubGrowthService.recordChurn(club.getId(), 1);
+        clubRecommendationService.recordLeave(user.getId(), club.getId());
+        eventPublisher.publishEvent(DashboardChangedEvent.memberships());
         
         log.info("User {} left club {}", user.getEmail(), club.getName());
     }
     
     /**
-     * Get pending requests for a club (Club Admin)
+     * Get a page of pending requests for a club, oldest first (Club Admin)
      */
     @Transactional(readOnly = true)
-    public List<MembershipDto> getPendingRequestsForClub(Long clubId, User admin) {
+    public CursorPage<MembershipDto> getPendingRequestsPage(Long clubId, User admin, String cursor, Integer size) {
         Club club = clubRepository.findById(clubId)
                 .orElseThrow(() -> new IllegalArgumentException("Club not found"));
         
         // Check if admin can manage this club
-        if (!club.hasAdmin(admin) && !admin.isSystemAdmin()) {
+        if (!currentUserService.managesClub(admin, club.getId()) && !admin.isSystemAdmin()) {
             throw new IllegalArgumentException("You don't have permission to view requests for this club");
         }
         
-        List<ClubMembership> pendingRequests = membershipRepository.findPendingByClub(club);
-        return pendingRequests.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        int pageSize = CursorPage.normalizeSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        Optional<PageCursor> after = PageCursor.decode(cursor).filter(c -> c.timestamp() != null);
+        
+        List<ClubMembership> rows = after
+                .map(c -> membershipRepository.findPendingPageByClubAfter(club, c.timestamp(), c.id(), limit))
+                .orElseGet(() -> membershipRepository.findPendingPageByClub(club, limit));
+        
+        return CursorPage.of(rows, pageSize, after.isEmpty(),
+                membership -> PageCursor.encode(membership.getRequestedAt(), membership.getId()), this::convertToDto);
     }
     
     /**
-     * Get all pending requests for clubs managed by admin
+     * Get the oldest pending requests across the clubs managed by admin
      */
     @Transactional(readOnly = true)
-    public List<MembershipDto> getPendingRequestsForAdmin(User admin) {
-        List<ClubMembership> pendingRequests = membershipRepository.findPendingByClubAdmin(admin);
+    public List<MembershipDto> getPendingRequestsForAdmin(User admin, int limit) {
+        List<ClubMembership> pendingRequests = membershipRepository.findPendingByClubAdmin(admin, PageRequest.of(0, limit));
         return pendingRequests.stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
     
     /**
-     * Get club members (Club Admin)
+     * Count pending requests across the clubs managed by admin
      */
     @Transactional(readOnly = true)
-    public List<MembershipDto> getClubMembers(Long clubId, User admin) {
+    public long countPendingRequestsForAdmin(User admin) {
+        return membershipRepository.countPendingByClubAdmin(admin);
+    }
+    
+    /**
+     * Get a page of club members in request order (Club Admin)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<MembershipDto> getClubMembersPage(Long clubId, User admin, String cursor, Integer size) {
         Club club = clubRepository.findById(clubId)
                 .orElseThrow(() -> new IllegalArgumentException("Club not found"));
         
         // Check if admin can manage this club
-        if (!club.hasAdmin(admin) && !admin.isSystemAdmin()) {
+        if (!currentUserService.managesClub(admin, club.getId()) && !admin.isSystemAdmin()) {
             throw new IllegalArgumentException("You don't have permission to view members of this club");
         }
         
-        List<ClubMembership> members = membershipRepository.findActiveByClub(club);
-        return members.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        int pageSize = CursorPage.normalizeSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        Optional<PageCursor> after = PageCursor.decode(cursor).filter(c -> c.timestamp() != null);
+        
+        List<ClubMembership> rows = after
+                .map(c -> membershipRepository.findActivePageByClubAfter(club, c.timestamp(), c.id(), limit))
+                .orElseGet(() -> membershipRepository.findActivePageByClub(club, limit));
+        
+        return CursorPage.of(rows, pageSize, after.isEmpty(),
+                membership -> PageCursor.encode(membership.getRequestedAt(), membership.getId()), this::convertToDto);
+    }
+    
+    /**
+     * Count pending requests for a club
+     */
+    @Transactional(readOnly = true)
+    public long countPendingRequests(Long clubId) {
+        return clubRepository.findById(clubId)
+                .map(membershipRepository::countPendingByClub)
+                .orElse(0L);
+    }
+    
+    /**
+     * Count active members of a club
+     */
+    @Transactional(readOnly = true)
+    public long countClubMembers(Long clubId) {
+        return clubRepository.findById(clubId)
+                .map(membershipRepository::countActiveByClub)
+                .orElse(0L);
     }
     
     /**
@@ -240,7 +442,7 @@ public class MembershipService {
         }
         
         // Check if admin can manage this club
-        if (!membership.getClub().hasAdmin(admin) && !admin.isSystemAdmin()) {
+        if (!currentUserService.managesClub(admin, membership.getClub().getId()) && !admin.isSystemAdmin()) {
             throw new IllegalArgumentException("You don't have permission to update roles in this club");
         }
         
@@ -267,10 +469,12 @@ public class MembershipService {
         }
         
         // Check if admin can manage this club
-        if (!membership.getClub().hasAdmin(admin) && !admin.isSystemAdmin()) {
+        if (!currentUserService.managesClub(admin, membership.getClub().getId()) && !admin.isSystemAdmin()) {
             throw new IllegalArgumentException("You don't have permission to remove members from this club");
         }
         
+        claimTransition(membership, MembershipStatus.APPROVED, MembershipStatus.SUSPENDED,
+                "Member is not active");
         membership.setStatus(MembershipStatus.SUSPENDED);
         membership.setProcessedAt(java.time.LocalDateTime.now());
         membership.setProcessedBy(admin);
@@ -279,7 +483,10 @@ public class MembershipService {
         membershipRepository.save(membership);
         
         // Update club member count
-        updateClubMemberCount(membership.getClub());
+        clubRepository.decrementMemberCount(membership.getClub().getId());
+        clubGrowthService.recordChurn(membership.getClub().getId(), 1);
+        clubRecommendationService.recordLeave(membership.getUser().getId(), membership.getClub().getId());
+        eventPublisher.publishEvent(DashboardChangedEvent.memberships());
         
         log.info("Member {} removed from club {}", 
                 membership.getUser().getEmail(), membership.getClub().getName());
@@ -306,38 +513,51 @@ public class MembershipService {
     }
     
     /**
-     * Update club member count
+     * Claim a status change on the membership row before applying it, so two admins
+     * processing the same request cannot both adjust the club's member counter
      */
-    private void updateClubMemberCount(Club club) {
-        long memberCount = membershipRepository.countActiveByClub(club);
-        club.setMemberCount((int) memberCount);
-        clubRepository.save(club);
+    private void claimTransition(ClubMembership membership, MembershipStatus from, MembershipStatus to,
+                                 String conflictMessage) {
+        if (membershipRepository.transitionStatus(membership.getId(), from, to) == 0) {
+            throw new IllegalArgumentException(conflictMessage);
+        }
     }
     
     /**
      * Recalculate member counts for all clubs
-     * This method ensures all clubs have accurate member counts based on actual membership data
+     * Compares the stored counters against one grouped count of approved memberships and
+     * corrects only the clubs that drifted; a counter that moved in the meantime is left alone
      */
-    public void recalculateAllClubMemberCounts() {
-        log.info("Recalculating member counts for all clubs...");
+    public int recalculateAllClubMemberCounts() {
+        log.debug("Recalculating member counts for all clubs...");
+        
+        // Stored counters are read before the real counts: an increment landing in between then
+        // changes the counter, so the compare-and-set below skips that club instead of undoing it
+        List<Object[]> storedCounts = clubRepository.findAllMemberCounts();
+        Map<Long, Long> actualCounts = new HashMap<>();
+        for (Object[] row : membershipRepository.countActiveGroupByClub()) {
+            actualCounts.put((Long) row[0], (Long) row[1]);
+        }
         
-        List<Club> allClubs = clubRepository.findAll();
         int updatedCount = 0;
-        
-        for (Club club : allClubs) {
-            long actualMemberCount = membershipRepository.countActiveByClub(club);
-            int currentMemberCount = club.getMemberCount();
+        for (Object[] row : storedCounts) {
+            Long clubId = (Long) row[0];
+            int currentMemberCount = ((Number) row[1]).intValue();
+            int actualMemberCount = actualCounts.getOrDefault(clubId, 0L).intValue();
             
-            if (currentMemberCount != actualMemberCount) {
-                club.setMemberCount((int) actualMemberCount);
-                clubRepository.save(club);
+            if (currentMemberCount != actualMemberCount
+                    && clubRepository.reconcileMemberCount(clubId, currentMemberCount, actualMemberCount) > 0) {
                 updatedCount++;
-                log.debug("Updated member count for club '{}': {} -> {}", 
-                         club.getName(), currentMemberCount, actualMemberCount);
+                log.debug("Updated member count for club {}: {} -> {}", 
+                         clubId, currentMemberCount, actualMemberCount);
             }
         }
         
+        if (updatedCount > 0) {
+            eventPublisher.publishEvent(DashboardChangedEvent.memberships());
+        }
         log.info("Member count recalculation completed. Updated {} clubs.", updatedCount);
+        return updatedCount;
     }
     
     /**
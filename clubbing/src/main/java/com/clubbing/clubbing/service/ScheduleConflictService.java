@@ -0,0 +1,300 @@
+package com.clubbing.clubbing.service;
+
+import com.clubbing.clubbing.model.Event;
+import com.clubbing.clubbing.model.User;
+import com.clubbing.clubbing.repository.EventRegistrationRepository;
+import com.clubbing.clubbing.repository.EventRepository;
+import com.clubbing.clubbing.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+
+/**
+ * Index of the time slots of every student's active registrations (registered or
+ * waitlisted) for upcoming events, used to flag overlapping registrations.
+ * Events only have a start time, so each one occupies a slot of the configured
+ * duration. Each user's slots are kept in a set sorted by start, and all slots have
+ * the same length, so the slots overlapping a given one are exactly those starting less
+ * than one duration before or after it: one range seek in O(log n) plus the matches.
+ * Reads are lock-free; writes are applied after the corresponding registration or
+ * event change commits, and past events are dropped by the lifecycle job.
+ */
+@Service
+@Slf4j
+public class ScheduleConflictService {
+
+    private final EventRegistrationRepository registrationRepository;
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final CurrentUserService currentUserService;
+    private final Duration slotDuration;
+
+    private final Map<Long, NavigableSet<Slot>> slotsByUser = new ConcurrentHashMap<>();
+    private final Map<Long, EventSlot> eventsById = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> attendeesByEvent = new ConcurrentHashMap<>();
+
+    public ScheduleConflictService(EventRegistrationRepository registrationRepository,
+                                   EventRepository eventRepository,
+                                   UserRepository userRepository,
+                                   CurrentUserService currentUserService,
+                                   @Value("${clubbing.events.slot-duration-minutes:120}") long slotMinutes) {
+        this.registrationRepository = registrationRepository;
+        this.eventRepository = eventRepository;
+        this.userRepository = userRepository;
+        this.currentUserService = currentUserService;
+        this.slotDuration = Duration.ofMinutes(slotMinutes);
+    }
+
+    /**
+     * Build the index from the active registrations for upcoming events once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        slotsByUser.clear();
+        eventsById.clear();
+        attendeesByEvent.clear();
+
+        List<Object[]> rows = registrationRepository.findActiveSlotsFrom(LocalDateTime.now().minus(slotDuration));
+        for (Object[] row : rows) {
+            add((Long) row[0], new EventSlot((Long) row[1], (String) row[2], (LocalDateTime) row[3]));
+        }
+        log.info("Schedule conflict index built: {} students, {} events", slotsByUser.size(), eventsById.size());
+    }
+
+    /**
+     * Index a user's registration once the current transaction commits
+     */
+    public void addRegistration(Long userId, Event event) {
+        EventSlot slot = toSlot(event);
+        afterCommit(() -> {
+            synchronized (this) {
+                add(userId, slot);
+            }
+        });
+    }
+
+    /**
+     * Remove a user's registration once the current transaction commits
+     */
+    public void removeRegistration(Long userId, Long eventId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                remove(userId, eventId);
+            }
+        });
+    }
+
+    /**
+     * Move an event's slots for all its attendees (after a reschedule) once the current transaction commits;
+     * events no longer open for registration are dropped
+     */
+    public void updateEvent(Event event) {
+        EventSlot updated = toSlot(event);
+        boolean open = event.getStatus().canRegister();
+        afterCommit(() -> {
+            synchronized (this) {
+                if (!eventsById.containsKey(updated.eventId())) {
+                    return;
+                }
+                List<Long> attendees = new ArrayList<>(attendeesByEvent.getOrDefault(updated.eventId(), Set.of()));
+                attendees.forEach(userId -> remove(userId, updated.eventId()));
+                if (open) {
+                    attendees.forEach(userId -> add(userId, updated));
+                }
+            }
+        });
+    }
+
+    /**
+     * Drop an event from every attendee's schedule once the current transaction commits
+     */
+    public void removeEvent(Long eventId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                new ArrayList<>(attendeesByEvent.getOrDefault(eventId, Set.of()))
+                    .forEach(userId -> remove(userId, eventId));
+                eventsById.remove(eventId);
+            }
+        });
+    }
+
+    /**
+     * Drop events that started before the cutoff from every schedule once the current
+     * transaction commits, mirroring a lifecycle run
+     */
+    public void removeEventsBefore(LocalDateTime cutoffTime) {
+        afterCommit(() -> {
+            synchronized (this) {
+                List<Long> past = eventsById.values().stream()
+                    .filter(event -> event.start().isBefore(cutoffTime))
+                    .map(EventSlot::eventId)
+                    .collect(Collectors.toList());
+                for (Long eventId : past) {
+                    new ArrayList<>(attendeesByEvent.getOrDefault(eventId, Set.of()))
+                        .forEach(userId -> remove(userId, eventId));
+                    eventsById.remove(eventId);
+                }
+            }
+        });
+    }
+
+    /**
+     * Drop all of a user's slots once the current transaction commits
+     */
+    public void removeUser(Long userId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                NavigableSet<Slot> slots = slotsByUser.get(userId);
+                if (slots != null) {
+                    new ArrayList<>(slots).forEach(slot -> remove(userId, slot.eventId()));
+                }
+            }
+        });
+    }
+
+    /**
+     * Events on the user's schedule that overlap the given event, earliest first
+     */
+    public List<ConflictingEvent> findConflicts(Long userId, Event event) {
+        return findConflicts(userId, event.getId(), event.getEventDate());
+    }
+
+    /**
+     * Attendees of an event whose schedules overlap it, with the overlapping events (Club Admin)
+     */
+    @Transactional(readOnly = true)
+    public List<AttendeeConflict> getAttendeeConflicts(Long eventId, String adminEmail) {
+        User admin = currentUserService.findUserByEmail(adminEmail)
+            .orElseThrow(() -> new RuntimeException("Admin user not found"));
+        Event event = eventRepository.findById(eventId)
+            .orElseThrow(() -> new RuntimeException("Event not found"));
+        if (!currentUserService.managesClub(admin, event.getClub().getId()) && !admin.isSystemAdmin()) {
+            throw new AccessDeniedException("You are not authorized to view conflicts for this event");
+        }
+
+        // One O(log n) probe per attendee against the event's current slot
+        EventSlot slot = eventsById.get(eventId);
+        Map<Long, List<ConflictingEvent>> conflictsByUser = new LinkedHashMap<>();
+        if (slot != null) {
+            for (Long userId : attendeesByEvent.getOrDefault(eventId, Set.of())) {
+                List<ConflictingEvent> conflicts = findConflicts(userId, eventId, slot.start());
+                if (!conflicts.isEmpty()) {
+                    conflictsByUser.put(userId, conflicts);
+                }
+            }
+        }
+        if (conflictsByUser.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, String> names = userRepository.findAllById(conflictsByUser.keySet()).stream()
+            .collect(Collectors.toMap(User::getId, User::getName));
+        return conflictsByUser.entrySet().stream()
+            .map(entry -> new AttendeeConflict(entry.getKey(), names.get(entry.getKey()), entry.getValue()))
+            .sorted(Comparator.comparing(AttendeeConflict::userName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)))
+            .collect(Collectors.toList());
+    }
+
+    private List<ConflictingEvent> findConflicts(Long userId, Long eventId, LocalDateTime start) {
+        NavigableSet<Slot> slots = slotsByUser.get(userId);
+        if (slots == null || start == null) {
+            return List.of();
+        }
+
+        // Equal-length slots overlap exactly when their starts are less than one duration apart
+        Slot from = new Slot(start.minus(slotDuration), Long.MAX_VALUE);
+        Slot to = new Slot(start.plus(slotDuration), Long.MIN_VALUE);
+        List<ConflictingEvent> conflicts = new ArrayList<>();
+        for (Slot slot : slots.subSet(from, false, to, false)) {
+            EventSlot other = eventsById.get(slot.eventId());
+            if (!slot.eventId().equals(eventId) && other != null) {
+                conflicts.add(new ConflictingEvent(other.eventId(), other.title(), other.start()));
+            }
+        }
+        return conflicts;
+    }
+
+    private void add(Long userId, EventSlot event) {
+        if (event.start() == null) {
+            return;
+        }
+        eventsById.put(event.eventId(), event);
+        slotsByUser.computeIfAbsent(userId, id -> new ConcurrentSkipListSet<>())
+            .add(new Slot(event.start(), event.eventId()));
+        attendeesByEvent.computeIfAbsent(event.eventId(), id -> ConcurrentHashMap.newKeySet()).add(userId);
+    }
+
+    private void remove(Long userId, Long eventId) {
+        EventSlot event = eventsById.get(eventId);
+        NavigableSet<Slot> slots = slotsByUser.get(userId);
+        if (event != null && slots != null) {
+            slots.remove(new Slot(event.start(), eventId));
+            if (slots.isEmpty()) {
+                slotsByUser.remove(userId);
+            }
+        }
+        Set<Long> attendees = attendeesByEvent.get(eventId);
+        if (attendees != null) {
+            attendees.remove(userId);
+            if (attendees.isEmpty()) {
+                attendeesByEvent.remove(eventId);
+                eventsById.remove(eventId);
+            }
+        }
+    }
+
+    private static EventSlot toSlot(Event event) {
+        return new EventSlot(event.getId(), event.getTitle(), event.getEventDate());
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    public record ConflictingEvent(Long eventId, String title, LocalDateTime eventDate) {
+    }
+
+    public record AttendeeConflict(Long userId, String userName, List<ConflictingEvent> conflicts) {
+    }
+
+    private record EventSlot(Long eventId, String title, LocalDateTime start) {
+    }
+
+    private record Slot(LocalDateTime start, Long eventId) implements Comparable<Slot> {
+
+        @Override
+        public int compareTo(Slot other) {
+            int byStart = start.compareTo(other.start);
+            return byStart != 0 ? byStart : eventId.compareTo(other.eventId);
+        }
+    }
+}
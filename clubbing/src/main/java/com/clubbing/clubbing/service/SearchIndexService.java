@@ -0,0 +1,418 @@
+package com.clubbing.clubbing.service;
+
+import com.clubbing.clubbing.model.Club;
+import com.clubbing.clubbing.model.Event;
+import com.clubbing.clubbing.model.EventStatus;
+import com.clubbing.clubbing.repository.ClubRepository;
+import com.clubbing.clubbing.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory search index for clubs and events.
+ * Every word of the searchable fields is split into 1- to 3-character n-grams that map
+ * to the ids of the documents containing them. A query intersects the posting sets of
+ * its n-grams and only verifies and ranks the few remaining candidates, so searching
+ * never touches the database. The index is built on startup and updated after each
+ * committed club/event write, together with the typeahead suggestions.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SearchIndexService {
+
+    private static final int MAX_GRAM = 3;
+
+    // Field weights: clubs are (name, description), events are (title, description, club name)
+    private static final int[] CLUB_FIELD_WEIGHTS = {3, 1};
+    private static final int[] EVENT_FIELD_WEIGHTS = {3, 1, 2};
+
+    private final ClubRepository clubRepository;
+    private final EventRepository eventRepository;
+    private final TypeaheadService typeaheadService;
+
+    private final NGramIndex clubIndex = new NGramIndex(CLUB_FIELD_WEIGHTS,
+        Comparator.comparing(Document::sortKey, String.CASE_INSENSITIVE_ORDER));
+    private final NGramIndex eventIndex = new NGramIndex(EVENT_FIELD_WEIGHTS,
+        Comparator.comparing(Document::eventDate, Comparator.nullsLast(Comparator.naturalOrder())));
+
+    /**
+     * Build both indexes from the database once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<Club> allClubs = clubRepository.findAll();
+        List<Event> allEvents = eventRepository.findAll();
+        List<Document> clubs = allClubs.stream()
+            .map(this::toDocument)
+            .collect(Collectors.toList());
+        List<Document> events = allEvents.stream()
+            .map(this::toDocument)
+            .collect(Collectors.toList());
+
+        clubIndex.replaceAll(clubs);
+        eventIndex.replaceAll(events);
+
+        typeaheadService.clear();
+        allClubs.forEach(club -> suggestionUpdate(club).run());
+        allEvents.forEach(event -> suggestionUpdate(event).run());
+        log.info("Search index built: {} clubs, {} events", clubs.size(), events.size());
+    }
+
+    /**
+     * Index (or re-index) a club once the current transaction commits
+     */
+    public void indexClub(Club club) {
+        Document document = toDocument(club);
+        Runnable suggestions = suggestionUpdate(club);
+        afterCommit(() -> {
+            clubIndex.put(document);
+            suggestions.run();
+        });
+    }
+
+    /**
+     * Remove a club from the index once the current transaction commits
+     */
+    public void removeClub(Long clubId) {
+        afterCommit(() -> {
+            clubIndex.remove(clubId);
+            typeaheadService.removeClub(clubId);
+        });
+    }
+
+    /**
+     * Index (or re-index) an event once the current transaction commits
+     */
+    public void indexEvent(Event event) {
+        Document document = toDocument(event);
+        Runnable suggestions = suggestionUpdate(event);
+        afterCommit(() -> {
+            eventIndex.put(document);
+            suggestions.run();
+        });
+    }
+
+    /**
+     * Index (or re-index) several events once the current transaction commits
+     */
+    public void indexEvents(Collection<Event> events) {
+        List<Document> documents = events.stream()
+            .map(this::toDocument)
+            .collect(Collectors.toList());
+        List<Runnable> suggestions = events.stream()
+            .map(this::suggestionUpdate)
+            .collect(Collectors.toList());
+        afterCommit(() -> {
+            documents.forEach(eventIndex::put);
+            suggestions.forEach(Runnable::run);
+        });
+    }
+
+    /**
+     * Remove an event from the index once the current transaction commits
+     */
+    public void removeEvent(Long eventId) {
+        afterCommit(() -> {
+            eventIndex.remove(eventId);
+            typeaheadService.removeEvent(eventId);
+        });
+    }
+
+    /**
+     * Hide published events that started before the cutoff, mirroring a bulk completion in the database
+     */
+    public void markEventsCompleted(LocalDateTime cutoffTime) {
+        afterCommit(() -> {
+            eventIndex.hideWhere(document -> document.eventDate() != null
+                && document.eventDate().isBefore(cutoffTime));
+            typeaheadService.removeEventsBefore(cutoffTime);
+        });
+    }
+
+    /**
+     * Ids of active clubs matching every word of the term, best match first
+     */
+    public List<Long> searchActiveClubIds(String searchTerm) {
+        return clubIndex.search(searchTerm);
+    }
+
+    /**
+     * Ids of published events matching every word of the term, best match first
+     */
+    public List<Long> searchPublishedEventIds(String searchTerm) {
+        return eventIndex.search(searchTerm);
+    }
+
+    private Document toDocument(Club club) {
+        return new Document(club.getId(), club.isActive(), club.getName(), null,
+            List.of(tokenize(club.getName()), tokenize(club.getDescription())));
+    }
+
+    private Document toDocument(Event event) {
+        String clubName = event.getClub() != null ? event.getClub().getName() : null;
+        return new Document(event.getId(), event.getStatus() == EventStatus.PUBLISHED, event.getTitle(),
+            event.getEventDate(),
+            List.of(tokenize(event.getTitle()), tokenize(event.getDescription()), tokenize(clubName)));
+    }
+
+    /**
+     * Capture a club's suggestion values now so the update can be applied after commit
+     */
+    private Runnable suggestionUpdate(Club club) {
+        Long id = club.getId();
+        String name = club.getName();
+        String category = club.getCategory();
+        boolean active = club.isActive();
+        int memberCount = club.getMemberCount();
+        return () -> typeaheadService.putClub(id, name, category, active, memberCount);
+    }
+
+    /**
+     * Capture an event's suggestion values now so the update can be applied after commit
+     */
+    private Runnable suggestionUpdate(Event event) {
+        Long id = event.getId();
+        String title = event.getTitle();
+        boolean published = event.getStatus() == EventStatus.PUBLISHED;
+        LocalDateTime eventDate = event.getEventDate();
+        int registrationCount = event.getRegistrationCount() != null ? event.getRegistrationCount() : 0;
+        return () -> typeaheadService.putEvent(id, title, published, eventDate, registrationCount);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Split text into distinct lower-case words
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+            .filter(word -> !word.isEmpty())
+            .distinct()
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Indexed view of a club or event; only visible documents are returned by searches
+     */
+    private record Document(Long id, boolean visible, String sortKey, LocalDateTime eventDate,
+                            List<List<String>> fields) {
+
+        Document hidden() {
+            return new Document(id, false, sortKey, eventDate, fields);
+        }
+
+        Set<String> grams() {
+            Set<String> grams = new HashSet<>();
+            for (List<String> field : fields) {
+                for (String word : field) {
+                    for (int n = 1; n <= MAX_GRAM; n++) {
+                        for (int i = 0; i + n <= word.length(); i++) {
+                            grams.add(word.substring(i, i + n));
+                        }
+                    }
+                }
+            }
+            return grams;
+        }
+    }
+
+    /**
+     * Inverted n-gram index over documents; reads share a lock so searches run concurrently
+     */
+    private static final class NGramIndex {
+
+        private final Map<String, Set<Long>> postings = new HashMap<>();
+        private final Map<Long, Document> documents = new HashMap<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final int[] fieldWeights;
+        private final Comparator<Document> tieBreaker;
+
+        NGramIndex(int[] fieldWeights, Comparator<Document> tieBreaker) {
+            this.fieldWeights = fieldWeights;
+            this.tieBreaker = tieBreaker;
+        }
+
+        void replaceAll(Collection<Document> all) {
+            lock.writeLock().lock();
+            try {
+                postings.clear();
+                documents.clear();
+                all.forEach(this::add);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void put(Document document) {
+            lock.writeLock().lock();
+            try {
+                removeInternal(document.id());
+                add(document);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Long id) {
+            lock.writeLock().lock();
+            try {
+                removeInternal(id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void hideWhere(Predicate<Document> condition) {
+            lock.writeLock().lock();
+            try {
+                documents.replaceAll((id, document) ->
+                    document.visible() && condition.test(document) ? document.hidden() : document);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        List<Long> search(String searchTerm) {
+            List<String> terms = tokenize(searchTerm);
+            if (terms.isEmpty()) {
+                return Collections.emptyList();
+            }
+
+            lock.readLock().lock();
+            try {
+                // Intersect posting sets smallest first; an unknown n-gram means no match at all
+                List<Set<Long>> sets = new ArrayList<>();
+                for (String term : terms) {
+                    for (String gram : queryGrams(term)) {
+                        Set<Long> posting = postings.get(gram);
+                        if (posting == null) {
+                            return Collections.emptyList();
+                        }
+                        sets.add(posting);
+                    }
+                }
+                sets.sort(Comparator.comparingInt(Set::size));
+                Set<Long> candidates = new HashSet<>(sets.get(0));
+                for (int i = 1; i < sets.size() && !candidates.isEmpty(); i++) {
+                    candidates.retainAll(sets.get(i));
+                }
+
+                // N-grams only narrow the candidates; each term must still occur inside a word
+                List<Document> matches = new ArrayList<>();
+                Map<Long, Integer> scores = new HashMap<>();
+                for (Long id : candidates) {
+                    Document document = documents.get(id);
+                    if (document != null && document.visible()) {
+                        int score = score(document, terms);
+                        if (score > 0) {
+                            matches.add(document);
+                            scores.put(id, score);
+                        }
+                    }
+                }
+
+                matches.sort(Comparator.<Document>comparingInt(document -> scores.get(document.id())).reversed()
+                    .thenComparing(tieBreaker));
+                return matches.stream()
+                    .map(Document::id)
+                    .collect(Collectors.toList());
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Sum of each term's best weighted match (exact word 3, word prefix 2, inside a word 1); 0 if a term is missing
+         */
+        private int score(Document document, List<String> terms) {
+            int total = 0;
+            for (String term : terms) {
+                int best = 0;
+                for (int f = 0; f < document.fields().size(); f++) {
+                    for (String word : document.fields().get(f)) {
+                        int match = word.equals(term) ? 3 : word.startsWith(term) ? 2 : word.contains(term) ? 1 : 0;
+                        best = Math.max(best, match * fieldWeights[f]);
+                    }
+                }
+                if (best == 0) {
+                    return 0;
+                }
+                total += best;
+            }
+            return total;
+        }
+
+        private List<String> queryGrams(String term) {
+            if (term.length() <= MAX_GRAM) {
+                return List.of(term);
+            }
+            List<String> grams = new ArrayList<>();
+            for (int i = 0; i + MAX_GRAM <= term.length(); i++) {
+                grams.add(term.substring(i, i + MAX_GRAM));
+            }
+            return grams;
+        }
+
+        private void add(Document document) {
+            documents.put(document.id(), document);
+            for (String gram : document.grams()) {
+                postings.computeIfAbsent(gram, key -> new HashSet<>()).add(document.id());
+            }
+        }
+
+        private void removeInternal(Long id) {
+            Document existing = documents.remove(id);
+            if (existing == null) {
+                return;
+            }
+            for (String gram : existing.grams()) {
+                Set<Long> posting = postings.get(gram);
+                if (posting != null) {
+                    posting.remove(id);
+                    if (posting.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.clubbing.clubbing.service;
+
+import com.clubbing.clubbing.model.EventRegistration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Signed event tickets.
+ * A ticket is "payload.signature" where the payload names the registration, event and
+ * user and the signature is an HMAC-SHA256 over it, so a scanner holding the shared
+ * secret can validate a ticket without a database lookup. Signature checks cannot see
+ * later cancellations; the kiosk sync path re-checks registration status on upload.
+ */
+@Service
+@Slf4j
+public class TicketService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String VERSION = "v1";
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec signingKey;
+
+    public TicketService(@Value("${clubbing.tickets.secret:}") String secret) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("clubbing.tickets.secret is not set; configure CLUBBING_TICKETS_SECRET "
+                + "or run with the dev profile");
+        }
+        if (secret.getBytes(StandardCharsets.UTF_8).length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("clubbing.tickets.secret must be at least " + MIN_SECRET_BYTES + " bytes");
+        }
+        this.signingKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    }
+
+    /**
+     * Issue the ticket token for a registration
+     */
+    public String issueTicket(EventRegistration registration) {
+        return issueTicket(registration.getId(), registration.getEvent().getId(), registration.getUser().getId());
+    }
+
+    /**
+     * Issue a ticket token for the given registration, event and user ids
+     */
+    public String issueTicket(Long registrationId, Long eventId, Long userId) {
+        String payload = VERSION + ":" + registrationId + ":" + eventId + ":" + userId;
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(payloadBytes));
+    }
+
+    /**
+     * Verify a ticket token; returns its claims when the signature is valid
+     */
+    public Optional<TicketClaims> verifyTicket(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+
+        int separator = token.indexOf('.');
+        if (separator <= 0 || separator == token.length() - 1) {
+            return Optional.empty();
+        }
+
+        try {
+            byte[] payloadBytes = DECODER.decode(token.substring(0, separator));
+            byte[] signature = DECODER.decode(token.substring(separator + 1));
+            if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+                return Optional.empty();
+            }
+
+            String[] parts = new String(payloadBytes, StandardCharsets.UTF_8).split(":");
+            if (parts.length != 4 || !VERSION.equals(parts[0])) {
+                return Optional.empty();
+            }
+
+            return Optional.of(new TicketClaims(
+                Long.parseLong(parts[1]), Long.parseLong(parts[2]), Long.parseLong(parts[3])));
+        } catch (IllegalArgumentException e) {
+            log.debug("Malformed ticket token: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(signingKey);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign ticket", e);
+        }
+    }
+
+    // Claims carried by a verified ticket
+    public record TicketClaims(
+            Long registrationId,
+            Long eventId,
+            Long userId
+    ) {}
+}
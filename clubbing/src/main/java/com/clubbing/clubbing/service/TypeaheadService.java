@@ -0,0 +1,218 @@
+package com.clubbing.clubbing.service;
+
+import com.clubbing.clubbing.dto.SuggestionDto;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+/**
+ * Prefix autocomplete over club names, club categories and event titles.
+ * Every word start of a label is stored as a key in a sorted map (entries sharing a
+ * prefix are contiguous, like a flattened trie), so a lookup is one range seek plus a
+ * scan of the matches through a bounded top-k heap. Reads are lock-free; writes are
+ * applied by {@link SearchIndexService} after the corresponding club/event change commits.
+ */
+@Service
+public class TypeaheadService {
+
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final ConcurrentSkipListMap<String, Entry> entries = new ConcurrentSkipListMap<>();
+    private final Map<String, List<String>> keysBySource = new HashMap<>();
+    private final Map<String, Integer> categoryUsage = new HashMap<>();
+    private final Map<Long, String> clubCategories = new HashMap<>();
+    private final Map<Long, LocalDateTime> eventDates = new HashMap<>();
+
+    /**
+     * Top suggestions for a prefix: exact matches first, then by popularity and length
+     */
+    public List<SuggestionDto> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        ConcurrentNavigableMap<String, Entry> range =
+            entries.subMap(normalized, true, normalized + Character.MAX_VALUE, false);
+
+        Comparator<Entry> ranking = Comparator
+            .<Entry>comparingInt(entry -> entry.normalizedLabel().equals(normalized) ? 0 : 1)
+            .thenComparing(Comparator.comparingInt(Entry::weight).reversed())
+            .thenComparingInt(entry -> entry.label().length())
+            .thenComparing(Entry::label, String.CASE_INSENSITIVE_ORDER);
+
+        // Rank every match, not just the first ones in key order, keeping only the best `limit`
+        // in a heap whose head is the weakest; a label matching through several words counts once
+        PriorityQueue<Entry> best = new PriorityQueue<>(limit + 1, ranking.reversed());
+        Set<String> seen = new HashSet<>();
+        for (Entry candidate : range.values()) {
+            if (!seen.add(candidate.sourceKey())) {
+                continue;
+            }
+            if (best.size() < limit) {
+                best.add(candidate);
+            } else if (ranking.compare(candidate, best.peek()) < 0) {
+                best.poll();
+                best.add(candidate);
+            }
+        }
+
+        return best.stream()
+            .sorted(ranking)
+            .map(entry -> SuggestionDto.builder()
+                .type(entry.type())
+                .label(entry.label())
+                .id(entry.id())
+                .build())
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Drop all suggestions; used before a full rebuild
+     */
+    synchronized void clear() {
+        entries.clear();
+        keysBySource.clear();
+        categoryUsage.clear();
+        clubCategories.clear();
+        eventDates.clear();
+    }
+
+    /**
+     * Add or replace a club and its category; inactive clubs are removed
+     */
+    synchronized void putClub(Long clubId, String name, String category, boolean active, int memberCount) {
+        removeClub(clubId);
+        if (!active) {
+            return;
+        }
+
+        put(sourceKey(SuggestionDto.TYPE_CLUB, clubId), SuggestionDto.TYPE_CLUB, clubId, name, memberCount);
+
+        if (category != null && !category.isBlank()) {
+            String trimmed = category.trim();
+            clubCategories.put(clubId, trimmed);
+            int usage = categoryUsage.merge(normalize(trimmed), 1, Integer::sum);
+            put(categoryKey(trimmed), SuggestionDto.TYPE_CATEGORY, null, trimmed, usage);
+        }
+    }
+
+    /**
+     * Remove a club and release its category
+     */
+    synchronized void removeClub(Long clubId) {
+        removeSource(sourceKey(SuggestionDto.TYPE_CLUB, clubId));
+
+        String category = clubCategories.remove(clubId);
+        if (category != null) {
+            String normalized = normalize(category);
+            Integer usage = categoryUsage.computeIfPresent(normalized, (key, count) -> count > 1 ? count - 1 : null);
+            if (usage == null) {
+                removeSource(categoryKey(category));
+            } else {
+                put(categoryKey(category), SuggestionDto.TYPE_CATEGORY, null, category, usage);
+            }
+        }
+    }
+
+    /**
+     * Add or replace an event; only published events are suggested
+     */
+    synchronized void putEvent(Long eventId, String title, boolean published, LocalDateTime eventDate,
+                               int registrationCount) {
+        removeEvent(eventId);
+        if (!published) {
+            return;
+        }
+
+        put(sourceKey(SuggestionDto.TYPE_EVENT, eventId), SuggestionDto.TYPE_EVENT, eventId, title, registrationCount);
+        eventDates.put(eventId, eventDate);
+    }
+
+    /**
+     * Remove an event
+     */
+    synchronized void removeEvent(Long eventId) {
+        removeSource(sourceKey(SuggestionDto.TYPE_EVENT, eventId));
+        eventDates.remove(eventId);
+    }
+
+    /**
+     * Remove events that started before the cutoff, mirroring a bulk completion
+     */
+    synchronized void removeEventsBefore(LocalDateTime cutoffTime) {
+        List<Long> completed = eventDates.entrySet().stream()
+            .filter(entry -> entry.getValue() != null && entry.getValue().isBefore(cutoffTime))
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toList());
+        completed.forEach(this::removeEvent);
+    }
+
+    private void put(String sourceKey, String type, Long id, String label, int weight) {
+        removeSource(sourceKey);
+        String normalizedLabel = normalize(label);
+        if (normalizedLabel.isEmpty()) {
+            return;
+        }
+
+        Entry entry = new Entry(sourceKey, type, id, label, normalizedLabel, weight);
+        List<String> keys = new ArrayList<>();
+        for (int start : wordStarts(normalizedLabel)) {
+            String key = normalizedLabel.substring(start) + KEY_SEPARATOR + sourceKey;
+            entries.put(key, entry);
+            keys.add(key);
+        }
+        keysBySource.put(sourceKey, keys);
+    }
+
+    private void removeSource(String sourceKey) {
+        List<String> keys = keysBySource.remove(sourceKey);
+        if (keys != null) {
+            keys.forEach(entries::remove);
+        }
+    }
+
+    private static List<Integer> wordStarts(String normalized) {
+        List<Integer> starts = new ArrayList<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            if (normalized.charAt(i) != ' ' && (i == 0 || normalized.charAt(i - 1) == ' ')) {
+                starts.add(i);
+            }
+        }
+        return starts;
+    }
+
+    private static String sourceKey(String type, Long id) {
+        return type + ':' + id;
+    }
+
+    private static String categoryKey(String category) {
+        return SuggestionDto.TYPE_CATEGORY + ':' + normalize(category);
+    }
+
+    /**
+     * Lower-case and collapse whitespace so keys compare the way users type
+     */
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    private record Entry(String sourceKey, String type, Long id, String label, String normalizedLabel, int weight) {
+    }
+}
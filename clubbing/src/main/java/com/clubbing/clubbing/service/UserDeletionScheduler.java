@@ -0,0 +1,34 @@
+package com.clubbing.clubbing.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Purges users queued for deletion, one short transaction per user. The queue lives in the
+ * users table, so requests made before a restart or crash are still picked up.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserDeletionScheduler {
+
+    private final UserDeletionService userDeletionService;
+
+    @Value("${clubbing.users.deletion-batch-size:20}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${clubbing.users.deletion-interval-ms:5000}")
+    public void purgePendingUsers() {
+        for (Long userId : userDeletionService.findPendingUsers(batchSize)) {
+            try {
+                userDeletionService.purgeUser(userId);
+            } catch (RuntimeException e) {
+                // The request stays on the deactivated account and is retried on the next run
+                log.error("Deletion of user {} failed: {}", userId, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.clubbing.clubbing.service;
+
+import com.clubbing.clubbing.model.User;
+import com.clubbing.clubbing.repository.ClubMembershipRepository;
+import com.clubbing.clubbing.repository.ClubRepository;
+import com.clubbing.clubbing.repository.EventAttendanceRepository;
+import com.clubbing.clubbing.repository.EventRegistrationRepository;
+import com.clubbing.clubbing.repository.EventRepository;
+import com.clubbing.clubbing.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * User deletion pipeline.
+ * Everything that references a user is removed or detached with a handful of targeted
+ * bulk statements. Users with a large history are deactivated and queued instead; the
+ * request is stored on the account, so the scheduler picks it up after the request
+ * commits and again after a restart, purging one user per transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class UserDeletionService {
+
+    private final UserRepository userRepository;
+    private final ClubRepository clubRepository;
+    private final ClubMembershipRepository membershipRepository;
+    private final EventRepository eventRepository;
+    private final EventRegistrationRepository registrationRepository;
+    private final EventAttendanceRepository attendanceRepository;
+    private final WaitlistPromotionService waitlistPromotionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CurrentUserService currentUserService;
+    private final ClubGrowthService clubGrowthService;
+    private final ClubRecommendationService clubRecommendationService;
+    private final ScheduleConflictService scheduleConflictService;
+    private final AttendanceRollupService attendanceRollupService;
+
+    /**
+     * Number of membership, registration and attendance rows owned by a user
+     */
+    @Transactional(readOnly = true)
+    public long countHistory(User user) {
+        return membershipRepository.countByUser(user)
+            + registrationRepository.countByUser(user)
+            + attendanceRepository.countByUser(user);
+    }
+
+    /**
+     * Queue a user for background deletion; saved with the account, the request becomes
+     * visible to the scheduler when the current transaction commits
+     */
+    public void requestDeletion(User user) {
+        if (user.getDeletionRequestedAt() == null) {
+            user.setDeletionRequestedAt(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Ids of the users waiting for background deletion, oldest request first
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findPendingUsers(int limit) {
+        return userRepository.findIdsPendingDeletion(PageRequest.of(0, limit));
+    }
+
+    /**
+     * Delete a user together with their memberships, registrations and attendance,
+     * releasing the club member counts, event seats and attendance totals they held
+     */
+    public void purgeUser(Long userId) {
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null) {
+            log.debug("User {} was already deleted", userId);
+            return;
+        }
+        String email = user.getEmail();
+
+        int adminOf = clubRepository.removeAdminFromAllClubs(userId);
+
+        // Counters first, while the rows they are derived from still exist
+        for (Long clubId : membershipRepository.findActiveClubIdsByUser(user)) {
+            clubGrowthService.recordChurn(clubId, 1);
+            clubRecommendationService.recordLeave(userId, clubId);
+        }
+        clubRepository.decrementMemberCountsForMember(user);
+        int memberships = membershipRepository.deleteByUser(user);
+        membershipRepository.clearProcessedBy(user, " [Processed by deleted user: " + email + "]");
+
+        List<Object[]> attendedEvents = attendanceRepository.findAttendedEventsByUser(user);
+        if (!attendedEvents.isEmpty()) {
+            eventRepository.releaseAttendanceOnEach(attendedEvents.stream()
+                .map(row -> (Long) row[0])
+                .collect(Collectors.toList()));
+        }
+        attendanceRollupService.removeUserAttendance(attendedEvents, registrationRepository.findNoShowEventsByUser(user));
+
+        List<Long> seatEventIds = registrationRepository.findSeatHoldingEventIdsByUser(user);
+        if (!seatEventIds.isEmpty()) {
+            eventRepository.releaseSeatOnEach(seatEventIds);
+        }
+        int registrations = registrationRepository.deleteByUser(user);
+        scheduleConflictService.removeUser(userId);
+        seatEventIds.forEach(waitlistPromotionService::requestPromotion);
+
+        int attendance = attendanceRepository.deleteByUser(user);
+        attendanceRepository.clearMarkedBy(user);
+
+        userRepository.deleteById(userId);
+        currentUserService.evict(email);
+        eventPublisher.publishEvent(DashboardChangedEvent.users());
+        eventPublisher.publishEvent(DashboardChangedEvent.memberships());
+        log.info("User deleted with ID: {} ({}); removed {} memberships, {} registrations, {} attendance records, admin of {} clubs",
+            userId, email, memberships, registrations, attendance, adminOf);
+    }
+}
@@ -0,0 +1,125 @@
+package com.clubbing.clubbing.service;
+
+import com.clubbing.clubbing.dto.UserImportResultDto;
+import com.clubbing.clubbing.model.User;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs CSV user imports in the background so the upload request returns at once.
+ * The upload is spooled to a temporary file and imported by a single worker, one file at a
+ * time; the status of each job, updated after every chunk, is kept in memory for polling
+ * until it has been finished for clubbing.users.import.job-retention-minutes.
+ */
+@Service
+@Slf4j
+public class UserImportJobService {
+
+    private final UserImportService userImportService;
+    private final ExecutorService worker = Executors.newSingleThreadExecutor();
+    private final Map<String, UserImportResultDto> jobs = new ConcurrentHashMap<>();
+
+    @Value("${clubbing.users.import.job-retention-minutes:60}")
+    private long retentionMinutes;
+
+    public UserImportJobService(UserImportService userImportService) {
+        this.userImportService = userImportService;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        worker.shutdownNow();
+    }
+
+    /**
+     * Queue an uploaded CSV file for import and return the new job's status
+     */
+    public UserImportResultDto startImport(MultipartFile file, User admin) throws IOException {
+        removeExpiredJobs();
+
+        Path spooled = Files.createTempFile("user-import-", ".csv");
+        try {
+            file.transferTo(spooled);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spooled);
+            throw e;
+        }
+
+        String jobId = UUID.randomUUID().toString();
+        UserImportResultDto queued = UserImportResultDto.builder()
+            .jobId(jobId)
+            .status(UserImportResultDto.Status.QUEUED)
+            .build();
+        jobs.put(jobId, queued);
+        worker.execute(() -> runImport(jobId, spooled, admin));
+
+        log.info("User {} queued CSV import job {} ({} bytes)", admin.getEmail(), jobId, file.getSize());
+        return queued;
+    }
+
+    /**
+     * Current status of an import job, if it is still known
+     */
+    public Optional<UserImportResultDto> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    private void runImport(String jobId, Path spooled, User admin) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        jobs.put(jobId, UserImportResultDto.builder()
+            .jobId(jobId)
+            .status(UserImportResultDto.Status.RUNNING)
+            .startedAt(startedAt)
+            .build());
+
+        try (InputStream csv = Files.newInputStream(spooled)) {
+            UserImportResultDto result = userImportService.importUsers(csv, admin,
+                progress -> jobs.put(jobId, withJob(progress, jobId, UserImportResultDto.Status.RUNNING, startedAt)));
+            UserImportResultDto completed = withJob(result, jobId, UserImportResultDto.Status.COMPLETED, startedAt);
+            completed.setFinishedAt(LocalDateTime.now());
+            jobs.put(jobId, completed);
+        } catch (IOException | RuntimeException e) {
+            log.error("CSV import job {} failed: {}", jobId, e.getMessage());
+            // Chunks committed before the failure stay imported; report how far the job got
+            UserImportResultDto failed = jobs.get(jobId).snapshot();
+            failed.setStatus(UserImportResultDto.Status.FAILED);
+            failed.setMessage(e.getMessage());
+            failed.setFinishedAt(LocalDateTime.now());
+            jobs.put(jobId, failed);
+        } finally {
+            try {
+                Files.deleteIfExists(spooled);
+            } catch (IOException e) {
+                log.warn("Could not delete spooled import file {}: {}", spooled, e.getMessage());
+            }
+        }
+    }
+
+    private static UserImportResultDto withJob(UserImportResultDto result, String jobId,
+                                               UserImportResultDto.Status status, LocalDateTime startedAt) {
+        result.setJobId(jobId);
+        result.setStatus(status);
+        result.setStartedAt(startedAt);
+        return result;
+    }
+
+    private void removeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+}
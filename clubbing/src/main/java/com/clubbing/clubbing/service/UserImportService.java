@@ -0,0 +1,460 @@
+package com.clubbing.clubbing.service;
+
+import com.clubbing.clubbing.dto.UserImportResultDto;
+import com.clubbing.clubbing.model.MemberRole;
+import com.clubbing.clubbing.model.MembershipStatus;
+import com.clubbing.clubbing.model.User;
+import com.clubbing.clubbing.model.UserRole;
+import com.clubbing.clubbing.repository.ClubRepository;
+import com.clubbing.clubbing.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Streaming CSV import of students and their club memberships.
+ * The file is read a chunk of rows at a time: rows are validated in memory, checked for
+ * existing emails and student IDs with one lookup per chunk, their passwords are hashed
+ * in parallel, and users and memberships are inserted with JDBC batches in one
+ * transaction per chunk. Nothing but the current chunk is kept in memory: a row that
+ * repeats an email or student ID of an earlier chunk is caught by that lookup, since the
+ * earlier chunk is already committed, and repeats within a chunk are checked in memory.
+ *
+ * Expected header (case-insensitive, any column order):
+ * name,email,password,student_id,department,clubs
+ * where clubs is an optional semicolon-separated list of active club names.
+ * Quoted fields may contain commas but not line breaks.
+ */
+@Service
+@Slf4j
+public class UserImportService {
+
+    private static final int JDBC_BATCH_SIZE = 100;
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final String INSERT_USER_SQL =
+        "INSERT INTO users (name, email, password, student_id, department, role, is_active, email_verified, " +
+        "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, TRUE, TRUE, ?, ?)";
+    private static final String INSERT_MEMBERSHIP_SQL =
+        "INSERT INTO club_memberships (user_id, club_id, status, role, joined_at, requested_at, processed_at, " +
+        "processed_by, notes, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final UserRepository userRepository;
+    private final ClubRepository clubRepository;
+    private final UserService userService;
+    private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ClubGrowthService clubGrowthService;
+    private final ClubRecommendationService clubRecommendationService;
+    private final ExecutorService hashExecutor;
+
+    @Value("${clubbing.users.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${clubbing.users.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public UserImportService(UserRepository userRepository,
+                             ClubRepository clubRepository,
+                             UserService userService,
+                             PasswordEncoder passwordEncoder,
+                             JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             ApplicationEventPublisher eventPublisher,
+                             ClubGrowthService clubGrowthService,
+                             ClubRecommendationService clubRecommendationService,
+                             @Value("${clubbing.users.import.hash-threads:0}") int hashThreads) {
+        this.userRepository = userRepository;
+        this.clubRepository = clubRepository;
+        this.userService = userService;
+        this.passwordEncoder = passwordEncoder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.clubGrowthService = clubGrowthService;
+        this.clubRecommendationService = clubRecommendationService;
+        // BCrypt is CPU-bound: one hashing thread per core unless configured otherwise
+        this.hashExecutor = Executors.newFixedThreadPool(
+            hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashExecutor.shutdown();
+    }
+
+    /**
+     * Import students (and optionally their club memberships) from a CSV stream (System Admin)
+     */
+    public UserImportResultDto importUsers(InputStream csv, User admin) throws IOException {
+        return importUsers(csv, admin, progress -> { });
+    }
+
+    /**
+     * Import from a CSV stream, handing a snapshot of the result to progress after every chunk
+     */
+    public UserImportResultDto importUsers(InputStream csv, User admin, Consumer<UserImportResultDto> progress)
+            throws IOException {
+        log.info("User {} starting CSV user import", admin.getEmail());
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            throw new IllegalArgumentException("The CSV file is empty");
+        }
+        Map<String, Integer> columns = parseHeader(headerLine);
+
+        UserImportResultDto result = new UserImportResultDto();
+        ImportContext context = new ImportContext(admin.getId(), loadActiveClubIds());
+
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        int lineNumber = 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            result.setRowsRead(result.getRowsRead() + 1);
+
+            ImportRow row = parseRow(lineNumber, line, columns, context, result);
+            if (row != null) {
+                chunk.add(row);
+            }
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, context, result);
+                chunk.clear();
+                progress.accept(result.snapshot());
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, context, result);
+        }
+
+        // Existing-user and duplicate conflicts are found a chunk later than format errors
+        result.getErrors().sort(Comparator.comparingInt(UserImportResultDto.RowError::getLine));
+
+        if (result.getUsersCreated() > 0) {
+            userService.invalidateUserStats();
+        }
+        if (result.getMembershipsCreated() > 0) {
+            eventPublisher.publishEvent(DashboardChangedEvent.memberships());
+        }
+
+        log.info("CSV user import by {} finished: {} rows, {} users created, {} memberships created, {} failed",
+            admin.getEmail(), result.getRowsRead(), result.getUsersCreated(), result.getMembershipsCreated(),
+            result.getFailed());
+        return result;
+    }
+
+    /**
+     * Check a chunk against existing users, hash its passwords and insert it in one transaction
+     */
+    private void importChunk(List<ImportRow> chunk, ImportContext context, UserImportResultDto result) {
+        Set<String> existingEmails = new HashSet<>(userRepository.findExistingEmails(
+            chunk.stream().map(ImportRow::email).collect(Collectors.toList())));
+        List<String> studentIds = chunk.stream()
+            .map(ImportRow::studentId)
+            .filter(studentId -> studentId != null)
+            .collect(Collectors.toList());
+        Set<String> existingStudentIds = studentIds.isEmpty()
+            ? Set.of()
+            : userRepository.findIdsByStudentIds(studentIds).stream()
+                .map(row -> (String) row[1])
+                .collect(Collectors.toSet());
+
+        // Repeats of an earlier chunk show up as existing users; repeats within this chunk are
+        // checked last, so a rejected row does not claim its keys
+        Set<String> chunkEmails = new HashSet<>();
+        Set<String> chunkStudentIds = new HashSet<>();
+        List<ImportRow> accepted = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            if (existingEmails.contains(row.email())) {
+                reject(result, row.lineNumber(), row.email(), "Email already registered");
+            } else if (row.studentId() != null && existingStudentIds.contains(row.studentId())) {
+                reject(result, row.lineNumber(), row.email(), "Student ID already registered");
+            } else if (!chunkEmails.add(row.email())) {
+                reject(result, row.lineNumber(), row.email(), "Email appears more than once in the file");
+            } else if (row.studentId() != null && !chunkStudentIds.add(row.studentId())) {
+                chunkEmails.remove(row.email());
+                reject(result, row.lineNumber(), row.email(), "Student ID appears more than once in the file");
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        List<ImportRow> hashed = hashPasswords(accepted);
+
+        try {
+            int[] created = transactionTemplate.execute(status -> insertChunk(hashed, context));
+            result.setUsersCreated(result.getUsersCreated() + created[0]);
+            result.setMembershipsCreated(result.getMembershipsCreated() + created[1]);
+        } catch (RuntimeException e) {
+            // Most likely a user registered concurrently; the whole chunk was rolled back
+            log.warn("CSV import chunk of {} rows failed: {}", accepted.size(), e.getMessage());
+            for (ImportRow row : accepted) {
+                reject(result, row.lineNumber(), row.email(), "Not imported: the batch containing this row failed");
+            }
+        }
+
+        log.info("CSV import progress: {} rows read, {} users created, {} failed",
+            result.getRowsRead(), result.getUsersCreated(), result.getFailed());
+    }
+
+    /**
+     * Replace the passwords of a chunk by their hashes, computed on the hashing pool
+     */
+    private List<ImportRow> hashPasswords(List<ImportRow> rows) {
+        List<CompletableFuture<ImportRow>> futures = rows.stream()
+            .map(row -> CompletableFuture.supplyAsync(
+                () -> row.withPassword(passwordEncoder.encode(row.password())), hashExecutor))
+            .collect(Collectors.toList());
+        return futures.stream()
+            .map(CompletableFuture::join)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Insert users and their memberships; returns [usersCreated, membershipsCreated]
+     */
+    private int[] insertChunk(List<ImportRow> rows, ImportContext context) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        int[][] userCounts = jdbcTemplate.batchUpdate(INSERT_USER_SQL, rows, JDBC_BATCH_SIZE, (ps, row) -> {
+            ps.setString(1, row.name());
+            ps.setString(2, row.email());
+            ps.setString(3, row.password());
+            ps.setString(4, row.studentId());
+            ps.setString(5, row.department());
+            ps.setString(6, UserRole.STUDENT.name());
+            ps.setTimestamp(7, now);
+            ps.setTimestamp(8, now);
+        });
+        int usersCreated = countRows(userCounts);
+
+        // IDENTITY keys are not returned by batch inserts; resolve them with one lookup
+        List<long[]> memberships = new ArrayList<>();
+        List<ImportRow> withClubs = rows.stream().filter(row -> !row.clubIds().isEmpty()).collect(Collectors.toList());
+        if (!withClubs.isEmpty()) {
+            Map<String, Long> userIds = new HashMap<>();
+            for (Object[] row : userRepository.findIdsByEmails(
+                    withClubs.stream().map(ImportRow::email).collect(Collectors.toList()))) {
+                userIds.put((String) row[1], (Long) row[0]);
+            }
+            for (ImportRow row : withClubs) {
+                for (Long clubId : row.clubIds()) {
+                    memberships.add(new long[]{userIds.get(row.email()), clubId});
+                }
+            }
+        }
+        if (memberships.isEmpty()) {
+            return new int[]{usersCreated, 0};
+        }
+
+        int[][] membershipCounts = jdbcTemplate.batchUpdate(INSERT_MEMBERSHIP_SQL, memberships, JDBC_BATCH_SIZE,
+            (ps, membership) -> {
+                ps.setLong(1, membership[0]);
+                ps.setLong(2, membership[1]);
+                ps.setString(3, MembershipStatus.APPROVED.name());
+                ps.setString(4, MemberRole.MEMBER.name());
+                ps.setTimestamp(5, now);
+                ps.setTimestamp(6, now);
+                ps.setTimestamp(7, now);
+                ps.setLong(8, context.adminId());
+                ps.setString(9, "Imported from CSV");
+                ps.setTimestamp(10, now);
+                ps.setTimestamp(11, now);
+            });
+
+        // One counter adjustment per club touched by the chunk
+        Map<Long, Integer> newMembersByClub = new LinkedHashMap<>();
+        memberships.forEach(membership -> newMembersByClub.merge(membership[1], 1, Integer::sum));
+        newMembersByClub.forEach(clubRepository::addToMemberCount);
+        memberships.forEach(membership -> clubRecommendationService.recordJoin(membership[0], membership[1]));
+        newMembersByClub.forEach((clubId, count) -> {
+            clubGrowthService.recordJoinRequests(clubId, count);
+            clubGrowthService.recordJoins(clubId, count);
+        });
+
+        return new int[]{usersCreated, countRows(membershipCounts)};
+    }
+
+    /**
+     * Validate one CSV line; returns null (and records the error) when the row is rejected
+     */
+    private ImportRow parseRow(int lineNumber, String line, Map<String, Integer> columns, ImportContext context,
+                               UserImportResultDto result) {
+        List<String> fields = parseLine(line);
+        String name = field(fields, columns, "name");
+        String email = field(fields, columns, "email");
+        String password = field(fields, columns, "password");
+        String studentId = field(fields, columns, "studentid");
+        String department = field(fields, columns, "department");
+        String clubs = field(fields, columns, "clubs");
+
+        email = email != null ? email.toLowerCase(Locale.ROOT) : null;
+        String error = null;
+        if (name == null || name.length() < 2 || name.length() > 100) {
+            error = "Name must be between 2 and 100 characters";
+        } else if (email == null || email.length() > 150 || !EMAIL.matcher(email).matches()) {
+            error = "Please provide a valid email address";
+        } else if (password == null || password.length() < 6) {
+            error = "Password must be at least 6 characters";
+        } else if (studentId != null && studentId.length() > 20) {
+            error = "Student ID must not exceed 20 characters";
+        } else if (department != null && department.length() > 100) {
+            error = "Department must not exceed 100 characters";
+        }
+
+        Set<Long> clubIds = new LinkedHashSet<>();
+        if (error == null && clubs != null) {
+            for (String clubName : clubs.split(";")) {
+                if (clubName.isBlank()) {
+                    continue;
+                }
+                Long clubId = context.activeClubIds().get(clubName.trim().toLowerCase(Locale.ROOT));
+                if (clubId == null) {
+                    error = "Club not found or inactive: " + clubName.trim();
+                    break;
+                }
+                clubIds.add(clubId);
+            }
+        }
+
+        if (error != null) {
+            reject(result, lineNumber, email, error);
+            return null;
+        }
+        return new ImportRow(lineNumber, name, email, password, studentId, department, List.copyOf(clubIds));
+    }
+
+    private void reject(UserImportResultDto result, int lineNumber, String email, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new UserImportResultDto.RowError(lineNumber, email, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private Map<String, Long> loadActiveClubIds() {
+        Map<String, Long> clubIds = new HashMap<>();
+        for (Object[] row : clubRepository.findActiveIdsAndNames()) {
+            clubIds.put(((String) row[1]).trim().toLowerCase(Locale.ROOT), (Long) row[0]);
+        }
+        return clubIds;
+    }
+
+    /**
+     * Map normalized column names (lower case, without spaces or underscores) to their position
+     */
+    private static Map<String, Integer> parseHeader(String headerLine) {
+        List<String> names = parseLine(headerLine.startsWith("\uFEFF") ? headerLine.substring(1) : headerLine);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).toLowerCase(Locale.ROOT).replaceAll("[\\s_]", ""), i);
+        }
+        for (String required : List.of("name", "email", "password")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("The CSV header must contain a '" + required + "' column");
+            }
+        }
+        return columns;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Split one CSV record, honouring double-quoted fields and doubled quotes inside them
+     */
+    private static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static int countRows(int[][] batchCounts) {
+        int rows = 0;
+        for (int[] batch : batchCounts) {
+            for (int count : batch) {
+                // Some drivers report SUCCESS_NO_INFO (-2) instead of a row count
+                rows += count > 0 ? count : count == Statement.SUCCESS_NO_INFO ? 1 : 0;
+            }
+        }
+        return rows;
+    }
+
+    private record ImportRow(int lineNumber, String name, String email, String password, String studentId,
+                             String department, List<Long> clubIds) {
+
+        ImportRow withPassword(String password) {
+            return new ImportRow(lineNumber, name, email, password, studentId, department, clubIds);
+        }
+    }
+
+    private record ImportContext(Long adminId, Map<String, Long> activeClubIds) {
+    }
+}
@@ -3,22 +3,24 @@ package com.clubbing.clubbing.service;
 import com.clubbing.clubbing.dto.*;
 import com.clubbing.clubbing.model.User;
 import com.clubbing.clubbing.model.UserRole;
-import com.clubbing.clubbing.model.Club;
-import com.clubbing.clubbing.model.ClubMembership;
 import com.clubbing.clubbing.repository.UserRepository;
-import com.clubbing.clubbing.repository.ClubMembershipRepository;
-import com.clubbing.clubbing.repository.ClubRepository;
+import com.clubbing.clubbing.repository.EventRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 @RequiredArgsConstructor
@@ -28,8 +30,20 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final ClubMembershipRepository clubMembershipRepository;
-    private final ClubRepository clubRepository;
+    private final EventRepository eventRepository;
+    private final UserDeletionService userDeletionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CurrentUserService currentUserService;
+
+    @Value("${clubbing.users.async-deletion-threshold:500}")
+    private long asyncDeletionThreshold;
+
+    @Value("${clubbing.users.stats-ttl-ms:30000}")
+    private long userStatsTtlMs;
+
+    // Bumped on every user change so a load that raced with it is not cached
+    private final AtomicLong userStatsGeneration = new AtomicLong();
+    private volatile CachedUserStats cachedUserStats;
 
     /**
      * Register a new user
@@ -66,6 +80,7 @@ public class UserService {
                 .build();
 
         User savedUser = userRepository.save(user);
+        invalidateUserStats();
         log.info("User registered successfully with ID: {}", savedUser.getId());
         return savedUser;
     }
@@ -74,12 +89,7 @@ public class UserService {
      * Get current authenticated user
      */
     public Optional<User> getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.isAuthenticated() && 
-            !authentication.getName().equals("anonymousUser")) {
-            return userRepository.findByEmail(authentication.getName());
-        }
-        return Optional.empty();
+        return currentUserService.getCurrentUser();
     }
 
     /**
@@ -105,12 +115,14 @@ public class UserService {
             }
         }
 
+        currentUserService.evict(currentUser.getEmail());
         currentUser.setName(profileDto.getName());
         currentUser.setEmail(profileDto.getEmail().toLowerCase());
         currentUser.setStudentId(profileDto.getStudentId());
         currentUser.setDepartment(profileDto.getDepartment());
 
         User updatedUser = userRepository.save(currentUser);
+        eventPublisher.publishEvent(DashboardChangedEvent.users());
         log.info("Profile updated for user ID: {}", updatedUser.getId());
         return updatedUser;
     }
@@ -134,6 +146,7 @@ public class UserService {
 
         currentUser.setPassword(passwordEncoder.encode(passwordChangeDto.getNewPassword()));
         userRepository.save(currentUser);
+        currentUserService.evict(currentUser.getEmail());
         log.info("Password changed for user ID: {}", currentUser.getId());
     }
 
@@ -152,12 +165,16 @@ public class UserService {
     }
 
     /**
-     * Get all users as DTOs (for admin)
+     * Get a page of users in registration order as DTOs (for admin)
      */
-    public List<UserDto> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPage<UserDto> getUsersPage(String cursor, Integer size) {
+        int pageSize = CursorPage.normalizeSize(size);
+        Long afterId = PageCursor.decode(cursor).map(PageCursor::id).orElse(0L);
+        
+        List<User> rows = userRepository.findPageAfter(afterId, PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, afterId == 0L,
+                user -> PageCursor.encode(user.getId()), this::convertToDto);
     }
 
     /**
@@ -191,6 +208,8 @@ public class UserService {
         
         user.setActive(!user.isActive());
         User updatedUser = userRepository.save(user);
+        currentUserService.evict(user.getEmail());
+        invalidateUserStats();
         log.info("User status toggled for user ID: {} - Active: {}", userId, user.isActive());
         return convertToDto(updatedUser);
     }
@@ -205,70 +224,101 @@ public class UserService {
         UserRole oldRole = user.getRole();
         user.setRole(newRole);
         User updatedUser = userRepository.save(user);
+        currentUserService.evict(user.getEmail());
+        invalidateUserStats();
         log.info("User role updated for user ID: {} - From: {} To: {}", userId, oldRole, newRole);
         return convertToDto(updatedUser);
     }
 
     /**
      * Delete user (for admin)
+     * Returns true when the user was deleted right away, or false when the account was
+     * deactivated and queued for background deletion because of its large history
      */
-    public void deleteUser(Long userId) {
+    public boolean deleteUser(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
         
-        log.info("Starting deletion process for user ID: {} ({})", userId, user.getEmail());
-        
-        // 1. Remove user from all club admin relationships
-        List<Club> adminClubs = clubRepository.findByAdmin(user);
-        for (Club club : adminClubs) {
-            club.removeAdmin(user);
-            clubRepository.save(club);
-            log.debug("Removed user {} as admin from club {}", user.getEmail(), club.getName());
+        if (eventRepository.existsByCreatedBy(user)) {
+            throw new IllegalArgumentException("User has created events and cannot be deleted. Deactivate the account instead.");
         }
         
-        // 2. Handle club memberships where user is the member
-        List<ClubMembership> userMemberships = clubMembershipRepository.findByUser(user);
-        for (ClubMembership membership : userMemberships) {
-            // Update club member count if membership was active
-            if (membership.isActive()) {
-                Club club = membership.getClub();
-                club.setMemberCount(Math.max(0, club.getMemberCount() - 1));
-                clubRepository.save(club);
-            }
-            clubMembershipRepository.delete(membership);
-            log.debug("Deleted membership {} for user {}", membership.getId(), user.getEmail());
-        }
-        
-        // 3. Handle club memberships where user is the processor (processed_by)
-        // Set processed_by to null for memberships processed by this user
-        List<ClubMembership> processedMemberships = clubMembershipRepository.findAll().stream()
-                .filter(membership -> membership.getProcessedBy() != null && 
-                       membership.getProcessedBy().getId().equals(userId))
-                .collect(Collectors.toList());
-        
-        for (ClubMembership membership : processedMemberships) {
-            membership.setProcessedBy(null);
-            membership.setNotes(membership.getNotes() + " [Processed by deleted user: " + user.getEmail() + "]");
-            clubMembershipRepository.save(membership);
-            log.debug("Updated processed_by reference for membership {}", membership.getId());
+        long historySize = userDeletionService.countHistory(user);
+        if (historySize > asyncDeletionThreshold) {
+            user.setActive(false);
+            userDeletionService.requestDeletion(user);
+            userRepository.save(user);
+            currentUserService.evict(user.getEmail());
+            invalidateUserStats();
+            log.info("User {} ({}) deactivated and queued for deletion ({} history rows)", 
+                    userId, user.getEmail(), historySize);
+            return false;
         }
         
-        // 4. Finally delete the user
-        userRepository.delete(user);
-        log.info("User deleted successfully with ID: {} ({})", userId, user.getEmail());
+        userDeletionService.purgeUser(userId);
+        invalidateUserStats();
+        return true;
     }
 
     /**
      * Get user statistics
+     * Computed from one grouped count and cached for a short time; user changes made
+     * through this service drop the cached copy once they commit
      */
+    @Transactional(readOnly = true)
     public UserStats getUserStats() {
-        long totalUsers = userRepository.count();
-        long activeUsers = userRepository.countByIsActiveTrue();
-        long systemAdmins = userRepository.countByRole(UserRole.SYSTEM_ADMIN);
-        long clubAdmins = userRepository.countByRole(UserRole.CLUB_ADMIN);
-        long students = userRepository.countByRole(UserRole.STUDENT);
+        CachedUserStats cached = cachedUserStats;
+        if (cached != null && System.currentTimeMillis() - cached.loadedAt() < userStatsTtlMs) {
+            return cached.stats();
+        }
+        
+        long generation = userStatsGeneration.get();
+        UserStats stats = loadUserStats();
+        if (userStatsGeneration.get() == generation) {
+            cachedUserStats = new CachedUserStats(stats, System.currentTimeMillis());
+        }
+        return stats;
+    }
+
+    private UserStats loadUserStats() {
+        long totalUsers = 0;
+        long activeUsers = 0;
+        Map<UserRole, Long> byRole = new EnumMap<>(UserRole.class);
+        for (Object[] row : userRepository.countGroupByRoleAndActive()) {
+            UserRole role = (UserRole) row[0];
+            boolean active = (Boolean) row[1];
+            long count = (Long) row[2];
+            
+            totalUsers += count;
+            if (active) {
+                activeUsers += count;
+            }
+            byRole.merge(role, count, Long::sum);
+        }
         
-        return new UserStats(totalUsers, activeUsers, systemAdmins, clubAdmins, students);
+        return new UserStats(totalUsers, activeUsers, totalUsers - activeUsers,
+                byRole.getOrDefault(UserRole.SYSTEM_ADMIN, 0L),
+                byRole.getOrDefault(UserRole.CLUB_ADMIN, 0L),
+                byRole.getOrDefault(UserRole.STUDENT, 0L));
+    }
+
+    /**
+     * Drop cached statistics and dashboards once the current transaction commits
+     */
+    public void invalidateUserStats() {
+        eventPublisher.publishEvent(DashboardChangedEvent.users());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userStatsGeneration.incrementAndGet();
+                    cachedUserStats = null;
+                }
+            });
+        } else {
+            userStatsGeneration.incrementAndGet();
+            cachedUserStats = null;
+        }
     }
 
     /**
@@ -293,8 +343,11 @@ public class UserService {
     public record UserStats(
             long totalUsers,
             long activeUsers,
+            long inactiveUsers,
             long systemAdmins,
             long clubAdmins,
             long students
     ) {}
-} 
\ No newline at end of file
+
+    private record CachedUserStats(UserStats stats, long loadedAt) {}
+}
@@ -0,0 +1,30 @@
+package com.clubbing.clubbing.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically drains events with freed seats and promotes their waitlists,
+ * one short transaction per event.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WaitlistPromotionScheduler {
+
+    private final WaitlistPromotionService waitlistPromotionService;
+
+    @Scheduled(fixedDelayString = "${clubbing.waitlist.promotion-interval-ms:2000}")
+    public void promotePendingWaitlists() {
+        for (Long eventId : waitlistPromotionService.drainPendingEvents()) {
+            try {
+                waitlistPromotionService.promoteWaitlisted(eventId);
+            } catch (RuntimeException e) {
+                log.error("Waitlist promotion failed for event {}: {}", eventId, e.getMessage());
+                waitlistPromotionService.requestPromotion(eventId);
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.clubbing.clubbing.service;
+
+import com.clubbing.clubbing.model.Event;
+import com.clubbing.clubbing.model.RegistrationStatus;
+import com.clubbing.clubbing.repository.EventRegistrationRepository;
+import com.clubbing.clubbing.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Waitlist promotion pipeline.
+ * Cancellations only mark their event as needing promotion; the scheduler drains
+ * the pending set, so a burst of cancellations on one event results in a single
+ * promotion pass instead of one waitlist scan per cancellation.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class WaitlistPromotionService {
+
+    private final EventRepository eventRepository;
+    private final EventRegistrationRepository registrationRepository;
+
+    private final Set<Long> pendingEventIds = ConcurrentHashMap.newKeySet();
+
+    @Value("${clubbing.waitlist.promotion-batch-size:50}")
+    private int promotionBatchSize;
+
+    /**
+     * Mark an event as needing waitlist promotion once the current transaction commits
+     */
+    public void requestPromotion(Long eventId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pendingEventIds.add(eventId);
+                }
+            });
+        } else {
+            pendingEventIds.add(eventId);
+        }
+    }
+
+    /**
+     * Take the events currently waiting for promotion
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<Long> drainPendingEvents() {
+        List<Long> eventIds = new ArrayList<>(pendingEventIds);
+        pendingEventIds.removeAll(eventIds);
+        return eventIds;
+    }
+
+    /**
+     * Promote the next waitlisted registrations of an event into freed seats (FIFO)
+     */
+    public int promoteWaitlisted(Long eventId) {
+        Event event = eventRepository.findById(eventId).orElse(null);
+        if (event == null || !event.getStatus().canRegister() || event.isPastEvent()) {
+            return 0;
+        }
+
+        int limit = event.hasCapacityLimit()
+            ? Math.min(promotionBatchSize, event.getAvailableSpots())
+            : promotionBatchSize;
+        if (limit <= 0) {
+            return 0;
+        }
+
+        List<Long> registrationIds = registrationRepository.findWaitlistedIdsByEventId(eventId, PageRequest.of(0, limit));
+        if (registrationIds.isEmpty()) {
+            return 0;
+        }
+
+        // Seats may have been taken since we read the event; retry on the next pass
+        if (eventRepository.reserveSeats(eventId, registrationIds.size()) == 0) {
+            requestPromotion(eventId);
+            return 0;
+        }
+
+        int promoted = registrationRepository.updateStatusByIds(
+            registrationIds, RegistrationStatus.WAITLISTED, RegistrationStatus.REGISTERED);
+
+        // Some waitlisted users cancelled in the meantime; give their seats back
+        if (promoted < registrationIds.size()) {
+            eventRepository.releaseSeats(eventId, registrationIds.size() - promoted);
+        }
+
+        // A full batch means there may be more seats and more waiting users
+        if (registrationIds.size() == promotionBatchSize) {
+            requestPromotion(eventId);
+        }
+
+        log.info("Promoted {} waitlisted registrations for event {}", promoted, eventId);
+        return promoted;
+    }
+}
@@ -0,0 +1,74 @@
+package com.clubbing.clubbing.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Scanner and kiosk endpoints are called with HTTP Basic credentials and no CSRF token.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class DeviceEndpointSecurityTest {
+
+    private static final String VERIFY_URL = "/club-admin/events/1/tickets/verify";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void clubAdminCanCallWithBasicAuthAndNoCsrfToken() throws Exception {
+        mockMvc.perform(post(VERIFY_URL).param("token", "not-a-ticket")
+                .with(httpBasic("clubadmin1@clubbing.com", "clubadmin123")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.valid").value(false));
+    }
+
+    @Test
+    void systemAdminCanCall() throws Exception {
+        mockMvc.perform(post(VERIFY_URL).param("token", "not-a-ticket")
+                .with(httpBasic("admin@clubbing.com", "admin123")))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void studentIsForbidden() throws Exception {
+        mockMvc.perform(post(VERIFY_URL).param("token", "not-a-ticket")
+                .with(httpBasic("student@clubbing.com", "student123")))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void bulkMembershipDecisionsAcceptBasicAuthAndReportSkippedRequests() throws Exception {
+        mockMvc.perform(post("/membership/requests/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"decision\": \"REJECT\", \"membershipIds\": [987654]}")
+                .with(httpBasic("clubadmin1@clubbing.com", "clubadmin123")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.processed").value(0))
+            .andExpect(jsonPath("$.skipped[0]").value(987654));
+    }
+
+    @Test
+    void missingCredentialsAreChallenged() throws Exception {
+        mockMvc.perform(post(VERIFY_URL).param("token", "not-a-ticket"))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void wrongPasswordIsChallenged() throws Exception {
+        mockMvc.perform(post(VERIFY_URL).param("token", "not-a-ticket")
+                .with(httpBasic("clubadmin1@clubbing.com", "wrong")))
+            .andExpect(status().isUnauthorized());
+    }
+}
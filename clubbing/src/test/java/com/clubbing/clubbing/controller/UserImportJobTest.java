@@ -0,0 +1,101 @@
+package com.clubbing.clubbing.controller;
+
+import com.clubbing.clubbing.dto.UserImportResultDto;
+import com.clubbing.clubbing.service.UserImportJobService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A scripted CSV upload returns a job at once; its status shows the outcome of every row,
+ * including duplicates that span import chunks.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserImportJobTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserImportJobService userImportJobService;
+
+    @Test
+    void importRunsAsJobAndReportsDuplicatesAcrossChunks() throws Exception {
+        long run = System.nanoTime();
+        // With two rows per chunk: a student ID repeated within the second chunk, and an
+        // email from the first chunk repeated in the third
+        String csv = "name,email,password,student_id\n"
+            + "Ada One,ada." + run + "@test.local,secret1,A" + run + "\n"
+            + "Bob Two,bob." + run + "@test.local,secret2,B" + run + "\n"
+            + "Cy Three,cy." + run + "@test.local,secret3,C" + run + "\n"
+            + "Dee Four,dee." + run + "@test.local,secret4,C" + run + "\n"
+            + "Ada Twin,ada." + run + "@test.local,secret5,D" + run + "\n"
+            + "No Mail,not-an-email,secret6,\n";
+        MockMultipartFile file = new MockMultipartFile("file", "students.csv", "text/csv",
+            csv.getBytes(StandardCharsets.UTF_8));
+
+        MvcResult started = mockMvc.perform(multipart("/admin/users/import").file(file)
+                .with(httpBasic("admin@clubbing.com", "admin123")))
+            .andExpect(status().isAccepted())
+            .andReturn();
+        String location = started.getResponse().getHeader("Location");
+        String jobId = location.substring(location.lastIndexOf('/') + 1);
+
+        UserImportResultDto result = awaitFinished(jobId);
+        assertThat(result.getStatus()).isEqualTo(UserImportResultDto.Status.COMPLETED);
+        assertThat(result.getRowsRead()).isEqualTo(6);
+        assertThat(result.getUsersCreated()).isEqualTo(3);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getErrors()).extracting(UserImportResultDto.RowError::getMessage).containsExactly(
+            "Student ID appears more than once in the file",
+            "Email already registered",
+            "Please provide a valid email address");
+
+        mockMvc.perform(get(location).with(httpBasic("admin@clubbing.com", "admin123")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("COMPLETED"))
+            .andExpect(jsonPath("$.usersCreated").value(3));
+    }
+
+    @Test
+    void clubAdminCannotImport() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "students.csv", "text/csv",
+            "name,email,password\n".getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(multipart("/admin/users/import").file(file)
+                .with(httpBasic("clubadmin1@clubbing.com", "clubadmin123")))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void unknownJobIsNotFound() throws Exception {
+        mockMvc.perform(get("/admin/users/import/no-such-job").with(httpBasic("admin@clubbing.com", "admin123")))
+            .andExpect(status().isNotFound());
+    }
+
+    private UserImportResultDto awaitFinished(String jobId) throws InterruptedException {
+        for (int attempt = 0; attempt < 200; attempt++) {
+            UserImportResultDto job = userImportJobService.getJob(jobId).orElseThrow();
+            if (job.getFinishedAt() != null) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Import job " + jobId + " did not finish");
+    }
+}
@@ -0,0 +1,186 @@
+package com.clubbing.clubbing.service;
+
+import com.clubbing.clubbing.dto.BatchCheckInDto;
+import com.clubbing.clubbing.dto.BatchCheckInResultDto;
+import com.clubbing.clubbing.dto.KioskCheckInSyncDto;
+import com.clubbing.clubbing.model.Club;
+import com.clubbing.clubbing.model.Event;
+import com.clubbing.clubbing.model.EventAttendanceRollup;
+import com.clubbing.clubbing.model.EventRegistration;
+import com.clubbing.clubbing.model.EventStatus;
+import com.clubbing.clubbing.model.RegistrationStatus;
+import com.clubbing.clubbing.model.User;
+import com.clubbing.clubbing.model.UserRole;
+import com.clubbing.clubbing.repository.ClubRepository;
+import com.clubbing.clubbing.repository.EventAttendanceRepository;
+import com.clubbing.clubbing.repository.EventAttendanceRollupRepository;
+import com.clubbing.clubbing.repository.EventRegistrationRepository;
+import com.clubbing.clubbing.repository.EventRepository;
+import com.clubbing.clubbing.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Check-ins from door scanners and offline kiosks, including kiosk uploads that arrive
+ * after a live scan or after the lifecycle run has marked the students as no-shows.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AttendanceServiceCheckInTest {
+
+    private static final String ADMIN_EMAIL = "clubadmin1@clubbing.com";
+
+    @Autowired
+    private AttendanceService attendanceService;
+    @Autowired
+    private EventLifecycleService eventLifecycleService;
+    @Autowired
+    private AttendanceRollupService attendanceRollupService;
+    @Autowired
+    private TicketService ticketService;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private EventRegistrationRepository registrationRepository;
+    @Autowired
+    private EventAttendanceRepository attendanceRepository;
+    @Autowired
+    private EventAttendanceRollupRepository eventRollupRepository;
+    @Autowired
+    private ClubRepository clubRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void lateKioskUploadTurnsNoShowsIntoAttendance() {
+        long run = System.nanoTime();
+        LocalDateTime eventStart = LocalDate.now().atStartOfDay();
+        Event event = todaysEvent(EventStatus.PUBLISHED, run);
+
+        User scanned = student("scanned", run);
+        User absent = student("absent", run);
+        EventRegistration scannedRegistration = register(event, scanned);
+        EventRegistration absentRegistration = register(event, absent);
+
+        eventLifecycleService.completePastEvents(LocalDateTime.now());
+        assertThat(rollup(event).getNoShows()).isEqualTo(2);
+
+        LocalDateTime scannedAt = eventStart.plusSeconds(1);
+        KioskCheckInSyncDto upload = KioskCheckInSyncDto.builder()
+            .kioskId("door-1")
+            .checkIns(List.of(
+                new KioskCheckInSyncDto.ScannedTicket(ticketService.issueTicket(scannedRegistration), scannedAt),
+                new KioskCheckInSyncDto.ScannedTicket(ticketService.issueTicket(scannedRegistration),
+                    eventStart.minusDays(3))))
+            .build();
+        BatchCheckInResultDto result = attendanceService.syncKioskCheckIns(event.getId(), upload, ADMIN_EMAIL);
+
+        assertThat(result.getCheckedIn()).isEqualTo(1);
+        assertThat(result.getRejected()).isEmpty();
+        assertThat(registrationRepository.findById(scannedRegistration.getId()).orElseThrow().getStatus())
+            .isEqualTo(RegistrationStatus.ATTENDED);
+        assertThat(registrationRepository.findById(absentRegistration.getId()).orElseThrow().getStatus())
+            .isEqualTo(RegistrationStatus.NO_SHOW);
+        assertThat(attendanceRepository.findByUserAndEvent(scanned, event).orElseThrow().getCheckInTime())
+            .isEqualTo(scannedAt);
+
+        EventAttendanceRollup rollup = rollup(event);
+        assertThat(rollup.getAttended()).isEqualTo(1);
+        assertThat(rollup.getNoShows()).isEqualTo(1);
+        assertThat(eventRepository.findById(event.getId()).orElseThrow().getAttendanceCount()).isEqualTo(1);
+
+        // Re-uploading the same scans changes nothing
+        BatchCheckInResultDto resync = attendanceService.syncKioskCheckIns(event.getId(), upload, ADMIN_EMAIL);
+        assertThat(resync.getCheckedIn()).isZero();
+        assertThat(resync.getAlreadyCheckedIn()).isEqualTo(1);
+        assertThat(rollup(event).getNoShows()).isEqualTo(1);
+    }
+
+    @Test
+    void kioskScanEarlierThanLiveCheckInMovesTheCheckInBack() {
+        long run = System.nanoTime();
+        Event event = todaysEvent(EventStatus.PUBLISHED, run);
+        User student = student("early", run);
+        EventRegistration registration = register(event, student);
+
+        BatchCheckInDto live = new BatchCheckInDto();
+        live.setUserIds(List.of(student.getId()));
+        assertThat(attendanceService.batchCheckIn(event.getId(), live, ADMIN_EMAIL).getCheckedIn()).isEqualTo(1);
+
+        LocalDateTime scannedAt = LocalDate.now().atStartOfDay().plusSeconds(5);
+        KioskCheckInSyncDto upload = KioskCheckInSyncDto.builder()
+            .checkIns(List.of(new KioskCheckInSyncDto.ScannedTicket(ticketService.issueTicket(registration), scannedAt)))
+            .build();
+        BatchCheckInResultDto result = attendanceService.syncKioskCheckIns(event.getId(), upload, ADMIN_EMAIL);
+
+        assertThat(result.getAlreadyCheckedIn()).isEqualTo(1);
+        assertThat(attendanceRepository.findByUserAndEvent(student, event).orElseThrow().getCheckInTime())
+            .isEqualTo(scannedAt);
+        assertThat(rollup(event).getAttended()).isEqualTo(1);
+    }
+
+    @Test
+    void checkInIsRejectedForCancelledAndDraftEvents() {
+        long run = System.nanoTime();
+        for (EventStatus status : List.of(EventStatus.CANCELLED, EventStatus.DRAFT)) {
+            Event event = todaysEvent(status, run);
+            User student = student(status.name().toLowerCase(), run);
+            register(event, student);
+
+            BatchCheckInDto live = new BatchCheckInDto();
+            live.setUserIds(List.of(student.getId()));
+            assertThatThrownBy(() -> attendanceService.batchCheckIn(event.getId(), live, ADMIN_EMAIL))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> attendanceService.syncKioskCheckIns(event.getId(),
+                    KioskCheckInSyncDto.builder().build(), ADMIN_EMAIL))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    private Event todaysEvent(EventStatus status, long run) {
+        Club club = clubRepository.findByNameIgnoreCase("Technology Club").orElseThrow();
+        User admin = userRepository.findByEmail(ADMIN_EMAIL).orElseThrow();
+        Event event = eventRepository.save(Event.builder()
+            .title("Kiosk Night " + status + " " + run)
+            .description("Event checked in by an offline kiosk")
+            .club(club)
+            .createdBy(admin)
+            .eventDate(LocalDate.now().atStartOfDay())
+            .location("Main Hall")
+            .status(status)
+            .build());
+        attendanceRollupService.ensureRollups(event);
+        return event;
+    }
+
+    private User student(String name, long run) {
+        return userRepository.save(User.builder()
+            .name("Kiosk Student " + name)
+            .email("kiosk-" + name + "." + run + "@test.local")
+            .password("{noop}secret")
+            .role(UserRole.STUDENT)
+            .build());
+    }
+
+    private EventRegistration register(Event event, User user) {
+        return registrationRepository.save(EventRegistration.builder()
+            .event(event)
+            .user(user)
+            .status(RegistrationStatus.REGISTERED)
+            .registrationDate(LocalDateTime.now())
+            .build());
+    }
+
+    private EventAttendanceRollup rollup(Event event) {
+        return eventRollupRepository.findById(event.getId()).orElseThrow();
+    }
+}
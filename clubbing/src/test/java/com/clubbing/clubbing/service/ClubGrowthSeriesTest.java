@@ -0,0 +1,87 @@
+package com.clubbing.clubbing.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Daily counters: member levels carry forward, and events before the first day or long
+ * after the last one move the covered range without losing what was recorded.
+ */
+class ClubGrowthSeriesTest {
+
+    private static final long DAY = 20_000L;
+
+    @Test
+    void memberLevelCarriesForwardPastTheLastRecordedDay() {
+        ClubGrowthSeries series = new ClubGrowthSeries(DAY);
+        series.record(DAY, 3, 2, 0);
+        series.record(DAY + 2, 0, 0, 1);
+
+        Daily daily = read(series, DAY - 1, DAY + 5);
+        assertThat(daily.members).containsExactly(0, 2, 2, 1, 1, 1, 1);
+        assertThat(daily.joinRequests).containsExactly(0, 3, 0, 0, 0, 0, 0);
+        assertThat(daily.joins).containsExactly(0, 2, 0, 0, 0, 0, 0);
+        assertThat(daily.churn).containsExactly(0, 0, 0, 1, 0, 0, 0);
+    }
+
+    @Test
+    void eventBeforeTheFirstDayShiftsTheStart() {
+        ClubGrowthSeries series = new ClubGrowthSeries(DAY);
+        series.record(DAY, 0, 1, 0);
+        series.record(DAY + 1, 0, 1, 0);
+        series.record(DAY - 2, 1, 1, 0);
+
+        Daily daily = read(series, DAY - 3, DAY + 2);
+        assertThat(daily.members).containsExactly(0, 1, 1, 2, 3, 3);
+        assertThat(daily.joinRequests).containsExactly(0, 1, 0, 0, 0, 0);
+        assertThat(daily.joins).containsExactly(0, 1, 0, 1, 1, 0);
+    }
+
+    @Test
+    void emptySeriesCanStartEarlierThanCreated() {
+        ClubGrowthSeries series = new ClubGrowthSeries(DAY);
+        series.record(DAY - 5, 0, 1, 0);
+
+        assertThat(read(series, DAY - 6, DAY - 4).members).containsExactly(0, 1, 1);
+    }
+
+    @Test
+    void extendingFarBeyondCapacityKeepsEarlierDays() {
+        ClubGrowthSeries series = new ClubGrowthSeries(DAY);
+        series.record(DAY, 0, 4, 0);
+        series.record(DAY + 500, 2, 0, 3);
+
+        assertThat(read(series, DAY + 499, DAY + 501).members).containsExactly(4, 1, 1);
+        assertThat(read(series, DAY, DAY).joins).containsExactly(4);
+    }
+
+    @Test
+    void bucketsSumEventsAndReportTheClosingLevel() {
+        ClubGrowthSeries series = new ClubGrowthSeries(DAY);
+        for (int day = 0; day < 7; day++) {
+            series.record(DAY + day, 1, 1, day == 6 ? 1 : 0);
+        }
+
+        int[] members = new int[3];
+        int[] joinRequests = new int[3];
+        int[] joins = new int[3];
+        int[] churn = new int[3];
+        series.read(DAY, DAY + 6, 3, members, joinRequests, joins, churn);
+
+        assertThat(members).containsExactly(3, 6, 6);
+        assertThat(joinRequests).containsExactly(3, 3, 1);
+        assertThat(joins).containsExactly(3, 3, 1);
+        assertThat(churn).containsExactly(0, 0, 1);
+    }
+
+    private static Daily read(ClubGrowthSeries series, long fromDay, long toDay) {
+        int days = (int) (toDay - fromDay + 1);
+        Daily daily = new Daily(new int[days], new int[days], new int[days], new int[days]);
+        series.read(fromDay, toDay, 1, daily.members, daily.joinRequests, daily.joins, daily.churn);
+        return daily;
+    }
+
+    private record Daily(int[] members, int[] joinRequests, int[] joins, int[] churn) {
+    }
+}
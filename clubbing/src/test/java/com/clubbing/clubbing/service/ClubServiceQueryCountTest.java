@@ -0,0 +1,109 @@
+package com.clubbing.clubbing.service;
+
+import com.clubbing.clubbing.dto.ClubDto;
+import com.clubbing.clubbing.model.Club;
+import com.clubbing.clubbing.model.User;
+import com.clubbing.clubbing.model.UserRole;
+import com.clubbing.clubbing.repository.ClubRepository;
+import com.clubbing.clubbing.repository.UserRepository;
+import com.clubbing.clubbing.support.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Club listings load admin names with one batched query; the statement count must stay
+ * at the club query plus that lookup however many clubs and admins are listed.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ClubServiceQueryCountTest {
+
+    private static final int CLUBS = 4;
+    private static final int ADMINS_PER_CLUB = 2;
+
+    @Autowired
+    private ClubService clubService;
+    @Autowired
+    private ClubRepository clubRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private String category;
+    private User sharedAdmin;
+
+    @BeforeEach
+    void createClubsWithSeveralAdmins() {
+        long run = System.nanoTime();
+        category = "Count " + run;
+        sharedAdmin = userRepository.save(admin("Shared Admin", "shared-admin." + run));
+        for (int c = 0; c < CLUBS; c++) {
+            Set<User> admins = new HashSet<>();
+            admins.add(sharedAdmin);
+            for (int a = 1; a < ADMINS_PER_CLUB; a++) {
+                admins.add(userRepository.save(admin("Club Admin " + c + "-" + a, "club-admin" + c + "-" + a + "." + run)));
+            }
+            clubRepository.save(Club.builder()
+                .name("Admin Count Club " + c + " " + run)
+                .description("Club for statement count tests")
+                .category(category)
+                .admins(admins)
+                .build());
+        }
+    }
+
+    @Test
+    void activeClubsAreClubQueryPlusAdminNames() {
+        List<ClubDto> clubs = countStatements(2, () -> clubService.getActiveClubs());
+        assertThat(clubs).hasSizeGreaterThanOrEqualTo(CLUBS);
+    }
+
+    @Test
+    void allClubsAreClubQueryPlusAdminNames() {
+        countStatements(2, () -> clubService.getAllClubs());
+    }
+
+    @Test
+    void clubsPageIsClubQueryPlusAdminNames() {
+        countStatements(2, () -> clubService.getClubsPage(null, 100).getItems());
+    }
+
+    @Test
+    void clubsByCategoryAreClubQueryPlusAdminNames() {
+        List<ClubDto> clubs = countStatements(2, () -> clubService.getClubsByCategory(category));
+        assertThat(clubs).hasSize(CLUBS);
+        assertThat(clubs).allSatisfy(club -> assertThat(club.getAdminNames()).hasSize(ADMINS_PER_CLUB));
+    }
+
+    @Test
+    void clubsByAdminAreClubQueryPlusAdminNames() {
+        List<ClubDto> clubs = countStatements(2, () -> clubService.getClubsByAdmin(sharedAdmin));
+        assertThat(clubs).hasSize(CLUBS);
+        assertThat(clubs).allSatisfy(club -> assertThat(club.getAdminNames()).contains("Shared Admin"));
+    }
+
+    private static User admin(String name, String emailPrefix) {
+        return User.builder()
+            .name(name)
+            .email(emailPrefix + "@test.local")
+            .password("{noop}secret")
+            .role(UserRole.CLUB_ADMIN)
+            .build();
+    }
+
+    private static <T> T countStatements(int expected, Supplier<T> listing) {
+        SqlStatementCounter.start();
+        T result = listing.get();
+        assertThat(SqlStatementCounter.stop()).as("SQL statements").isEqualTo(expected);
+        return result;
+    }
+}
@@ -0,0 +1,96 @@
+package com.clubbing.clubbing.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Incremental membership changes must leave the model exactly as a batch build would.
+ */
+class ClubSimilarityModelTest {
+
+    private static final long CHESS = 1L;
+    private static final long ROBOTICS = 2L;
+    private static final long DRAMA = 3L;
+    private static final long ART = 4L;
+
+    @Test
+    void recommendsClubsSharedWithSimilarStudents() {
+        ClubSimilarityModel model = ClubSimilarityModel.build(memberships(
+            10L, CHESS, 10L, ROBOTICS,
+            11L, CHESS, 11L, ROBOTICS,
+            12L, CHESS, 12L, DRAMA,
+            13L, ART));
+
+        // Robotics shares two members with chess, drama one; art shares none
+        assertThat(model.recommend(20L)).isEmpty();
+        model.addMembership(20L, CHESS);
+        assertThat(model.recommend(20L)).containsExactly(ROBOTICS, DRAMA);
+    }
+
+    @Test
+    void addingThenRemovingRestoresTheModel() {
+        List<Object[]> base = memberships(
+            10L, CHESS, 10L, ROBOTICS,
+            11L, ROBOTICS, 11L, DRAMA,
+            12L, DRAMA);
+        ClubSimilarityModel model = ClubSimilarityModel.build(base);
+        long[] before = model.recommend(10L);
+
+        model.addMembership(12L, CHESS);
+        model.addMembership(13L, ART);
+        model.removeMembership(12L, CHESS);
+        model.removeMembership(13L, ART);
+
+        assertThat(model.recommend(10L)).containsExactly(before);
+        assertThat(model.recommend(12L)).containsExactly(ClubSimilarityModel.build(base).recommend(12L));
+    }
+
+    @Test
+    void incrementalChangesMatchABatchBuild() {
+        ClubSimilarityModel incremental = ClubSimilarityModel.build(List.of());
+        incremental.addMembership(10L, CHESS);
+        incremental.addMembership(10L, ROBOTICS);
+        incremental.addMembership(11L, ROBOTICS);
+        incremental.addMembership(11L, DRAMA);
+        incremental.addMembership(12L, CHESS);
+        incremental.addMembership(12L, DRAMA);
+        incremental.removeMembership(11L, DRAMA);
+
+        ClubSimilarityModel batch = ClubSimilarityModel.build(memberships(
+            10L, CHESS, 10L, ROBOTICS,
+            11L, ROBOTICS,
+            12L, CHESS, 12L, DRAMA));
+
+        for (long userId : new long[]{10L, 11L, 12L}) {
+            assertThat(incremental.recommend(userId)).containsExactly(batch.recommend(userId));
+        }
+    }
+
+    @Test
+    void repeatedChangesHaveNoEffect() {
+        ClubSimilarityModel model = ClubSimilarityModel.build(memberships(
+            10L, CHESS, 10L, ROBOTICS,
+            11L, CHESS));
+        long[] before = model.recommend(11L);
+
+        // A rebuild may replay a change that is already part of the table it read
+        model.addMembership(10L, ROBOTICS);
+        model.removeMembership(12L, DRAMA);
+        model.removeMembership(11L, ART);
+
+        assertThat(model.recommend(11L)).containsExactly(before);
+        assertThat(model.userCount()).isEqualTo(2);
+    }
+
+    private static List<Object[]> memberships(long... userClubPairs) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < userClubPairs.length; i += 2) {
+            rows.add(new Object[]{userClubPairs[i], userClubPairs[i + 1]});
+        }
+        return rows;
+    }
+}
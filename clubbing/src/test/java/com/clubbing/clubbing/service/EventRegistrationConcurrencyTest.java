@@ -0,0 +1,167 @@
+package com.clubbing.clubbing.service;
+
+import com.clubbing.clubbing.dto.EventCreationDto;
+import com.clubbing.clubbing.dto.EventDto;
+import com.clubbing.clubbing.dto.EventUpdateDto;
+import com.clubbing.clubbing.model.Club;
+import com.clubbing.clubbing.model.Event;
+import com.clubbing.clubbing.model.EventStatus;
+import com.clubbing.clubbing.model.RegistrationStatus;
+import com.clubbing.clubbing.model.User;
+import com.clubbing.clubbing.model.UserRole;
+import com.clubbing.clubbing.repository.ClubRepository;
+import com.clubbing.clubbing.repository.EventRegistrationRepository;
+import com.clubbing.clubbing.repository.EventRepository;
+import com.clubbing.clubbing.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Thousands of students register for a small event at once while its admin keeps editing
+ * it: no seat may be sold twice, no reservation may be lost and tail latency stays bounded.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EventRegistrationConcurrencyTest {
+
+    private static final String ADMIN_EMAIL = "clubadmin1@clubbing.com";
+    private static final int CAPACITY = 100;
+    private static final int STUDENTS = 2_000;
+    private static final int WARM_UP_STUDENTS = 200;
+    private static final int EDITS = 50;
+    // One worker per pooled connection, so latency measures row locking rather than pool queueing
+    private static final int THREADS = 8;
+    // A registration serialized behind the event row lock for the whole transaction shows up as
+    // p99s of seconds at this load; lock-free reservation stays well under this
+    private static final long MAX_P99_MILLIS = 500;
+
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private EventRegistrationService eventRegistrationService;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private EventRegistrationRepository registrationRepository;
+    @Autowired
+    private ClubRepository clubRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void concurrentRegistrationsNeverOversellWhileTheEventIsEdited() throws Exception {
+        // Warm up the JIT and the pool on a separate event so the measured run reflects steady state
+        EventDto warmUp = createEvent(CAPACITY);
+        registerConcurrently(warmUp, createStudents(warmUp.getId(), WARM_UP_STUDENTS), 0);
+
+        EventDto created = createEvent(CAPACITY);
+        Long eventId = created.getId();
+        List<Long> latenciesNanos = registerConcurrently(created, createStudents(eventId, STUDENTS), EDITS);
+
+        Event event = eventRepository.findById(eventId).orElseThrow();
+        long registered = registrationRepository.countActiveByEvent(event);
+        long waitlisted = registrationRepository.countWaitlistedByEvent(event);
+
+        assertThat(registered).isEqualTo(CAPACITY);
+        assertThat(event.getRegistrationCount()).isEqualTo(CAPACITY);
+        assertThat(registered + waitlisted).isEqualTo(STUDENTS);
+
+        List<Long> sorted = new ArrayList<>(latenciesNanos);
+        Collections.sort(sorted);
+        long p99Millis = TimeUnit.NANOSECONDS.toMillis(sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1));
+        assertThat(p99Millis).as("p99 registration latency (ms)").isLessThan(MAX_P99_MILLIS);
+    }
+
+    private EventDto createEvent(int capacity) {
+        Club club = clubRepository.findByNameIgnoreCase("Technology Club").orElseThrow();
+        return eventService.createEvent(EventCreationDto.builder()
+            .title("Concurrency Night " + System.nanoTime())
+            .description("Registration stress test event")
+            .clubId(club.getId())
+            .eventDate(LocalDateTime.now().plusDays(7).withNano(0))
+            .location("Main Hall")
+            .capacity(capacity)
+            .publishImmediately(true)
+            .build(), ADMIN_EMAIL);
+    }
+
+    private List<String> createStudents(Long eventId, int count) {
+        List<User> students = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            students.add(User.builder()
+                .name("Load Student " + i)
+                .email("load" + i + "." + eventId + "@test.local")
+                .password("{noop}secret")
+                .studentId("LD" + eventId + "-" + i)
+                .department("Testing")
+                .role(UserRole.STUDENT)
+                .build());
+        }
+        return userRepository.saveAll(students).stream()
+            .map(User::getEmail)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Register all students from a thread pool while the admin keeps saving the event;
+     * returns the latency of every registration
+     */
+    private List<Long> registerConcurrently(EventDto event, List<String> emails, int edits) throws Exception {
+        ExecutorService registrations = Executors.newFixedThreadPool(THREADS);
+        ExecutorService editor = Executors.newSingleThreadExecutor();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Long> latenciesNanos = Collections.synchronizedList(new ArrayList<>());
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (String email : emails) {
+                tasks.add(registrations.submit(() -> {
+                    start.await();
+                    long begin = System.nanoTime();
+                    eventRegistrationService.registerForEvent(event.getId(), email);
+                    latenciesNanos.add(System.nanoTime() - begin);
+                    return null;
+                }));
+            }
+
+            tasks.add(editor.submit(() -> {
+                start.await();
+                for (int i = 0; i < edits; i++) {
+                    eventService.updateEvent(EventUpdateDto.builder()
+                        .id(event.getId())
+                        .title(event.getTitle())
+                        .description("Registration stress test event, edit " + i)
+                        .eventDate(event.getEventDate())
+                        .location("Main Hall")
+                        .capacity(CAPACITY)
+                        .status(EventStatus.PUBLISHED)
+                        .build(), ADMIN_EMAIL);
+                }
+                return null;
+            }));
+
+            start.countDown();
+            for (Future<?> task : tasks) {
+                task.get(5, TimeUnit.MINUTES);
+            }
+        } finally {
+            registrations.shutdownNow();
+            editor.shutdownNow();
+        }
+        return latenciesNanos;
+    }
+}
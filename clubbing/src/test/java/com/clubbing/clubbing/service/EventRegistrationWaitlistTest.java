@@ -0,0 +1,85 @@
+package com.clubbing.clubbing.service;
+
+import com.clubbing.clubbing.dto.EventCreationDto;
+import com.clubbing.clubbing.model.RegistrationStatus;
+import com.clubbing.clubbing.model.User;
+import com.clubbing.clubbing.model.UserRole;
+import com.clubbing.clubbing.repository.ClubRepository;
+import com.clubbing.clubbing.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A seat freed by a cancellation goes to the head of the waitlist, not to whoever
+ * registers before the promotion runs.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EventRegistrationWaitlistTest {
+
+    private static final String ADMIN_EMAIL = "clubadmin1@clubbing.com";
+
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private EventRegistrationService eventRegistrationService;
+    @Autowired
+    private WaitlistPromotionService waitlistPromotionService;
+    @Autowired
+    private ClubRepository clubRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void freedSeatGoesToTheHeadOfTheWaitlist() {
+        long run = System.nanoTime();
+        Long eventId = eventService.createEvent(EventCreationDto.builder()
+            .title("Single Seat " + run)
+            .description("Waitlist ordering test event")
+            .clubId(clubRepository.findByNameIgnoreCase("Technology Club").orElseThrow().getId())
+            .eventDate(LocalDateTime.now().plusDays(3).withNano(0))
+            .location("Room 1")
+            .capacity(1)
+            .publishImmediately(true)
+            .build(), ADMIN_EMAIL).getId();
+
+        String first = student("first", run);
+        String waiting = student("waiting", run);
+        String latecomer = student("latecomer", run);
+
+        assertThat(eventRegistrationService.registerForEvent(eventId, first).getStatus())
+            .isEqualTo(RegistrationStatus.REGISTERED);
+        assertThat(eventRegistrationService.registerForEvent(eventId, waiting).getStatus())
+            .isEqualTo(RegistrationStatus.WAITLISTED);
+
+        eventRegistrationService.cancelRegistration(eventId, first, "Cannot make it");
+        assertThat(eventRegistrationService.registerForEvent(eventId, latecomer).getStatus())
+            .isEqualTo(RegistrationStatus.WAITLISTED);
+
+        // The scheduled promotion may already have run; either way the waiting student gets the seat
+        waitlistPromotionService.promoteWaitlisted(eventId);
+        assertThat(status(eventId, waiting)).isEqualTo(RegistrationStatus.REGISTERED);
+        assertThat(status(eventId, latecomer)).isEqualTo(RegistrationStatus.WAITLISTED);
+    }
+
+    private RegistrationStatus status(Long eventId, String email) {
+        return eventRegistrationService.getUserRegistration(eventId, email).orElseThrow().getStatus();
+    }
+
+    private String student(String name, long run) {
+        String email = "waitlist-" + name + "." + run + "@test.local";
+        userRepository.save(User.builder()
+            .name("Waitlist Student " + name)
+            .email(email)
+            .password("{noop}secret")
+            .role(UserRole.STUDENT)
+            .build());
+        return email;
+    }
+}
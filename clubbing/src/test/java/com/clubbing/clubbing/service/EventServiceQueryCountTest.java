@@ -0,0 +1,117 @@
+package com.clubbing.clubbing.service;
+
+import com.clubbing.clubbing.dto.EventDto;
+import com.clubbing.clubbing.model.Club;
+import com.clubbing.clubbing.model.Event;
+import com.clubbing.clubbing.model.EventStatus;
+import com.clubbing.clubbing.model.User;
+import com.clubbing.clubbing.model.UserRole;
+import com.clubbing.clubbing.repository.ClubRepository;
+import com.clubbing.clubbing.repository.EventRepository;
+import com.clubbing.clubbing.repository.UserRepository;
+import com.clubbing.clubbing.support.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Event listings are built from one joined DTO projection; the statement count must not
+ * grow with the number of events, clubs or creators listed.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EventServiceQueryCountTest {
+
+    private static final int CLUBS = 3;
+    private static final int EVENTS_PER_CLUB = 4;
+
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private ClubRepository clubRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private Club firstClub;
+    private String firstAdminEmail;
+
+    @BeforeEach
+    void createEventsAcrossClubsAndCreators() {
+        long run = System.nanoTime();
+        for (int c = 0; c < CLUBS; c++) {
+            User admin = userRepository.save(User.builder()
+                .name("Event Admin " + c)
+                .email("event-admin" + c + "." + run + "@test.local")
+                .password("{noop}secret")
+                .role(UserRole.CLUB_ADMIN)
+                .build());
+            Club club = clubRepository.save(Club.builder()
+                .name("Query Count Club " + c + " " + run)
+                .description("Club for statement count tests")
+                .category("Testing")
+                .admins(new HashSet<>(Set.of(admin)))
+                .build());
+            for (int e = 0; e < EVENTS_PER_CLUB; e++) {
+                eventRepository.save(Event.builder()
+                    .title("Query Count Event " + c + "-" + e)
+                    .description("Event for statement count tests")
+                    .club(club)
+                    .createdBy(admin)
+                    .eventDate(LocalDateTime.now().plusDays(1 + e).withNano(0))
+                    .location("Room " + e)
+                    .status(EventStatus.PUBLISHED)
+                    .build());
+            }
+            if (c == 0) {
+                firstClub = club;
+                firstAdminEmail = admin.getEmail();
+            }
+        }
+    }
+
+    @Test
+    void publishedEventsPageIsOneQuery() {
+        List<EventDto> events = countStatements(1, () -> eventService.getPublishedEventsPage(null, 100).getItems());
+        assertThat(events).hasSizeGreaterThanOrEqualTo(CLUBS * EVENTS_PER_CLUB);
+        assertThat(events).allSatisfy(event -> assertThat(event.getClubName()).isNotBlank());
+    }
+
+    @Test
+    void upcomingEventsIsOneQuery() {
+        List<EventDto> events = countStatements(1, () -> eventService.getUpcomingEvents(CLUBS * EVENTS_PER_CLUB));
+        assertThat(events).hasSize(CLUBS * EVENTS_PER_CLUB);
+    }
+
+    @Test
+    void eventsByClubIsExistenceCheckPlusOneQuery() {
+        List<EventDto> events = countStatements(2, () -> eventService.getEventsByClub(firstClub.getId()));
+        assertThat(events).hasSize(EVENTS_PER_CLUB);
+    }
+
+    @Test
+    void clubAdminEventsPageIsUserLookupPlusOneQuery() {
+        List<EventDto> events = countStatements(2,
+            () -> eventService.getEventsPageByClubAdmin(firstAdminEmail, null, null, 100).getItems());
+        assertThat(events).hasSize(EVENTS_PER_CLUB);
+        assertThat(events).allSatisfy(event -> assertThat(event.getCreatedByName()).isEqualTo("Event Admin 0"));
+    }
+
+    private static <T> T countStatements(int expected, Supplier<T> listing) {
+        SqlStatementCounter.start();
+        T result = listing.get();
+        assertThat(SqlStatementCounter.stop()).as("SQL statements").isEqualTo(expected);
+        return result;
+    }
+}
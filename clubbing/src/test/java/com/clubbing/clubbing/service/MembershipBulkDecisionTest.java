@@ -0,0 +1,79 @@
+package com.clubbing.clubbing.service;
+
+import com.clubbing.clubbing.dto.BulkMembershipDecisionDto;
+import com.clubbing.clubbing.dto.BulkMembershipDecisionResultDto;
+import com.clubbing.clubbing.dto.MembershipRequestDto;
+import com.clubbing.clubbing.model.Club;
+import com.clubbing.clubbing.model.MembershipStatus;
+import com.clubbing.clubbing.model.User;
+import com.clubbing.clubbing.model.UserRole;
+import com.clubbing.clubbing.repository.ClubMembershipRepository;
+import com.clubbing.clubbing.repository.ClubRepository;
+import com.clubbing.clubbing.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A bulk decision reports exactly the requests it changed; everything else is skipped.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class MembershipBulkDecisionTest {
+
+    @Autowired
+    private MembershipService membershipService;
+    @Autowired
+    private ClubMembershipRepository membershipRepository;
+    @Autowired
+    private ClubRepository clubRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void approvesPendingRequestsAndSkipsProcessedOnes() {
+        long run = System.nanoTime();
+        Club club = clubRepository.findByNameIgnoreCase("Technology Club").orElseThrow();
+        User admin = userRepository.findByEmail("clubadmin1@clubbing.com").orElseThrow();
+        long membersBefore = membershipService.countClubMembers(club.getId());
+
+        Long pending = request(club, student("pending", run));
+        Long alreadyRejected = request(club, student("rejected", run));
+        membershipService.rejectMembershipRequest(alreadyRejected, admin, "Full");
+
+        BulkMembershipDecisionResultDto result = membershipService.decideMembershipRequests(
+            BulkMembershipDecisionDto.builder()
+                .decision(BulkMembershipDecisionDto.Decision.APPROVE)
+                .membershipIds(List.of(pending, alreadyRejected, 987654L))
+                .build(), admin);
+
+        assertThat(result.getRequested()).isEqualTo(3);
+        assertThat(result.getProcessed()).isEqualTo(1);
+        assertThat(result.getSkipped()).containsExactly(alreadyRejected, 987654L);
+        assertThat(membershipRepository.findById(pending).orElseThrow().getStatus())
+            .isEqualTo(MembershipStatus.APPROVED);
+        assertThat(membershipRepository.findById(alreadyRejected).orElseThrow().getStatus())
+            .isEqualTo(MembershipStatus.REJECTED);
+        assertThat(membershipService.countClubMembers(club.getId())).isEqualTo(membersBefore + 1);
+    }
+
+    private Long request(Club club, User student) {
+        MembershipRequestDto request = new MembershipRequestDto();
+        request.setMessage("Bulk decision test");
+        return membershipService.requestToJoinClub(club.getId(), student, request).getId();
+    }
+
+    private User student(String name, long run) {
+        return userRepository.save(User.builder()
+            .name("Bulk Student " + name)
+            .email("bulk-" + name + "." + run + "@test.local")
+            .password("{noop}secret")
+            .role(UserRole.STUDENT)
+            .build());
+    }
+}
@@ -0,0 +1,103 @@
+package com.clubbing.clubbing.service;
+
+import com.clubbing.clubbing.model.Event;
+import com.clubbing.clubbing.model.EventStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Slot overlap rules and index maintenance; outside a transaction every change applies at once.
+ */
+class ScheduleConflictServiceTest {
+
+    private static final long SLOT_MINUTES = 120;
+    private static final Long STUDENT = 7L;
+    private static final LocalDateTime TEN_AM = LocalDateTime.now().plusDays(3).withHour(10).withMinute(0)
+        .withSecond(0).withNano(0);
+
+    private final ScheduleConflictService service = new ScheduleConflictService(null, null, null, null, SLOT_MINUTES);
+
+    @Test
+    void slotsOverlapOnlyWhenStartsAreLessThanOneDurationApart() {
+        service.addRegistration(STUDENT, event(1L, TEN_AM));
+
+        assertThat(conflictIds(event(2L, TEN_AM.plusMinutes(SLOT_MINUTES - 1)))).containsExactly(1L);
+        assertThat(conflictIds(event(3L, TEN_AM.plusMinutes(SLOT_MINUTES)))).isEmpty();
+        assertThat(conflictIds(event(4L, TEN_AM.minusMinutes(SLOT_MINUTES - 1)))).containsExactly(1L);
+        assertThat(conflictIds(event(5L, TEN_AM.minusMinutes(SLOT_MINUTES)))).isEmpty();
+        assertThat(conflictIds(event(6L, TEN_AM))).containsExactly(1L);
+    }
+
+    @Test
+    void eventDoesNotConflictWithItselfAndConflictsAreListedEarliestFirst() {
+        service.addRegistration(STUDENT, event(1L, TEN_AM));
+        service.addRegistration(STUDENT, event(2L, TEN_AM.minusMinutes(30)));
+        service.addRegistration(STUDENT, event(3L, TEN_AM.plusMinutes(30)));
+
+        assertThat(conflictIds(event(1L, TEN_AM))).containsExactly(2L, 3L);
+        assertThat(service.findConflicts(8L, event(1L, TEN_AM))).isEmpty();
+    }
+
+    @Test
+    void cancelledRegistrationNoLongerConflicts() {
+        service.addRegistration(STUDENT, event(1L, TEN_AM));
+        service.removeRegistration(STUDENT, 1L);
+
+        assertThat(conflictIds(event(2L, TEN_AM))).isEmpty();
+    }
+
+    @Test
+    void rescheduledEventMovesForEveryAttendee() {
+        service.addRegistration(STUDENT, event(1L, TEN_AM));
+        service.addRegistration(8L, event(1L, TEN_AM));
+
+        service.updateEvent(event(1L, TEN_AM.plusDays(1)));
+
+        assertThat(conflictIds(event(2L, TEN_AM))).isEmpty();
+        assertThat(conflictIds(event(3L, TEN_AM.plusDays(1)))).containsExactly(1L);
+        assertThat(service.findConflicts(8L, event(3L, TEN_AM.plusDays(1)))).hasSize(1);
+    }
+
+    @Test
+    void eventClosedForRegistrationIsDropped() {
+        service.addRegistration(STUDENT, event(1L, TEN_AM));
+
+        Event cancelled = event(1L, TEN_AM);
+        cancelled.setStatus(EventStatus.CANCELLED);
+        service.updateEvent(cancelled);
+
+        assertThat(conflictIds(event(2L, TEN_AM))).isEmpty();
+    }
+
+    @Test
+    void lifecycleCutoffRemovesOnlyEarlierEvents() {
+        LocalDateTime lastWeek = TEN_AM.minusDays(10);
+        service.addRegistration(STUDENT, event(1L, lastWeek));
+        service.addRegistration(STUDENT, event(2L, TEN_AM));
+
+        service.removeEventsBefore(TEN_AM.minusDays(1));
+
+        assertThat(conflictIds(event(3L, lastWeek))).isEmpty();
+        assertThat(conflictIds(event(4L, TEN_AM))).containsExactly(2L);
+    }
+
+    private List<Long> conflictIds(Event event) {
+        return service.findConflicts(STUDENT, event).stream()
+            .map(ScheduleConflictService.ConflictingEvent::eventId)
+            .collect(Collectors.toList());
+    }
+
+    private static Event event(Long id, LocalDateTime start) {
+        return Event.builder()
+            .id(id)
+            .title("Event " + id)
+            .eventDate(start)
+            .status(EventStatus.PUBLISHED)
+            .build();
+    }
+}